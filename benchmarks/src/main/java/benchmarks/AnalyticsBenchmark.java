@@ -0,0 +1,59 @@
+package benchmarks;
+
+import backend.BudgetLogic;
+import backend.LedgerSnapshot;
+import database.QueryCache;
+import events.TransactionEventManager;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import service.SummarizerService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BudgetLogic aggregations and the AI summary over generated ledgers.
+ * The ledger snapshot is loaded once per trial except in snapshotReload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsBenchmark extends LedgerState {
+    private final BudgetLogic budgetLogic = new BudgetLogic();
+    private final SummarizerService summarizer = new SummarizerService();
+    
+    @Benchmark
+    public double budgetUsage() {
+        return budgetLogic.calculateBudgetUsagePercentage();
+    }
+    
+    @Benchmark
+    public Map<String, Long> expensesByCategory() {
+        return budgetLogic.getExpensesByCategory();
+    }
+    
+    @Benchmark
+    public String[] recommendations() {
+        return budgetLogic.generateAIRecommendations();
+    }
+    
+    @Benchmark
+    public JSONObject summarizeUserData() {
+        QueryCache.getInstance().invalidateAll();
+        return summarizer.summarizeUserData();
+    }
+    
+    /** Full reload of the in-memory ledger, as after an import. */
+    @Benchmark
+    public int snapshotReload() {
+        TransactionEventManager.getInstance().notifyTransactionsRefreshed();
+        return LedgerSnapshot.getInstance().size();
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import backend.DataExportImport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CSV line parser used by import, on a plain row and on one with quoted fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParserBenchmark {
+    private String plainLine = "1042,Expense,Food,1234.50,2024-03-15,Lunch with team,manual";
+    private String quotedLine = "1043,Expense,Shopping,89.99,2024-03-16,\"Shoes, socks and a \"\"gift\"\" box\",manual";
+    
+    @Benchmark
+    public String[] plain() {
+        return DataExportImport.parseCSVLine(plainLine);
+    }
+    
+    @Benchmark
+    public String[] quoted() {
+        return DataExportImport.parseCSVLine(quotedLine);
+    }
+}
@@ -0,0 +1,34 @@
+package benchmarks;
+
+import backend.DataExportImport;
+import backend.ExportOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export of a whole generated ledger, plain and gzip-compressed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ExportBenchmark extends LedgerState {
+    private final DataExportImport exporter = new DataExportImport();
+    
+    @Benchmark
+    public boolean exportCsv() {
+        return exporter.exportToCSV(workDir.resolve("export.csv").toString());
+    }
+    
+    @Benchmark
+    public boolean exportCsvGzip() {
+        return exporter.exportToCSV(workDir.resolve("export.csv.gz").toString(), ExportOptions.all().setGzip(true));
+    }
+}
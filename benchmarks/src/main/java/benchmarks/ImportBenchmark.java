@@ -0,0 +1,70 @@
+package benchmarks;
+
+import backend.DataExportImport;
+import backend.ImportResult;
+import database.DBConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV import of a whole exported ledger into an empty database, one import per
+ * measurement (each iteration starts from a fresh database).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ImportBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+    
+    private Path workDir;
+    private Path csv;
+    private int iteration = 0;
+    
+    @Setup(Level.Trial)
+    public void exportLedger() throws IOException {
+        workDir = Files.createTempDirectory("pfa-bench-import");
+        Path source = workDir.resolve("source.db");
+        Files.copy(LedgerState.template(rows), source, StandardCopyOption.REPLACE_EXISTING);
+        LedgerState.open(source);
+        csv = workDir.resolve("ledger.csv");
+        if (!new DataExportImport().exportToCSV(csv.toString())) {
+            throw new IllegalStateException("Could not export the ledger to " + csv);
+        }
+    }
+    
+    @Setup(Level.Iteration)
+    public void openEmptyDatabase() {
+        LedgerState.open(workDir.resolve("empty-" + iteration++ + ".db"));
+    }
+    
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        DBConnection.closeConnection();
+        LedgerState.deleteRecursively(workDir);
+    }
+    
+    @Benchmark
+    public ImportResult importCsv() {
+        return new DataExportImport().importFromCSV(csv.toString());
+    }
+}
@@ -0,0 +1,96 @@
+package benchmarks;
+
+import backend.SettingsManager;
+import database.DBConnection;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import tools.LedgerGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * A generated ledger of `rows` transactions, opened as the application's database.
+ * The data comes from tools.LedgerGenerator, the same generator used for stress tests.
+ *
+ * Each size is generated once into java.io.tmpdir/pfa-bench and reused; every trial
+ * works on a private copy in a fresh temp directory, so write benchmarks never leak
+ * into the next trial.
+ */
+@State(Scope.Benchmark)
+public class LedgerState {
+    private static final Path TEMPLATE_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "pfa-bench");
+    private static final YearMonth LEDGER_END = YearMonth.of(2025, 12);
+    
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+    
+    protected Path workDir;
+    
+    @Setup(Level.Trial)
+    public void openLedger() throws IOException {
+        Path template = template(rows);
+        workDir = Files.createTempDirectory("pfa-bench-run");
+        Path db = workDir.resolve("finance.db");
+        Files.copy(template, db, StandardCopyOption.REPLACE_EXISTING);
+        open(db);
+    }
+    
+    @TearDown(Level.Trial)
+    public void closeLedger() throws IOException {
+        DBConnection.closeConnection();
+        deleteRecursively(workDir);
+    }
+    
+    /**
+     * The shared generated ledger of this size, generating it on first use.
+     */
+    static synchronized Path template(int rows) throws IOException {
+        Path template = TEMPLATE_DIR.resolve("ledger-" + rows + ".db");
+        if (!Files.exists(template)) {
+            generate(template, rows);
+        }
+        return template;
+    }
+    
+    static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    /**
+     * Point the application at a database file; DAOs lease connections lazily.
+     */
+    static void open(Path db) {
+        DBConnection.closeConnection();
+        System.setProperty(DBConnection.DB_PATH_PROPERTY, db.toString());
+        // Normally loaded by ui.Main; the AI summary reads the currency
+        SettingsManager.loadSettings();
+    }
+    
+    /**
+     * Write the seed-42 synthetic ledger of rows transactions, ending at a fixed month
+     * so every machine benchmarks the same data.
+     */
+    private static void generate(Path target, int rows) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(target.getFileName() + ".partial");
+        Files.deleteIfExists(partial);
+        
+        long written = new LedgerGenerator(42).setRows(rows).setEndMonth(LEDGER_END).generate(partial.toFile());
+        if (written != rows) {
+            throw new IOException("Generating " + target + " failed");
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import database.QueryCache;
+import database.TransactionDAO;
+import models.Money;
+import models.Transaction;
+import models.TransactionTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionDAO reads and writes against generated ledgers.
+ * Read benchmarks drop the query cache first, so they measure SQLite, not a map lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionDAOBenchmark extends LedgerState {
+    private final TransactionDAO dao = new TransactionDAO();
+    
+    @Benchmark
+    public TransactionTotals totalsAllTime() {
+        QueryCache.getInstance().invalidateAll();
+        return dao.getTotals("All Time");
+    }
+    
+    @Benchmark
+    public TransactionTotals totalsThisMonth() {
+        QueryCache.getInstance().invalidateAll();
+        return dao.getTotals("This Month");
+    }
+    
+    @Benchmark
+    public TransactionTotals totalsCached() {
+        return dao.getTotals("All Time");
+    }
+    
+    @Benchmark
+    public int countManual() {
+        return dao.countTransactions(null, null, "manual");
+    }
+    
+    @Benchmark
+    public List<Transaction> firstPage() {
+        return dao.getTransactionPage(null, null, null, null, 0, 0, 200);
+    }
+    
+    @Benchmark
+    public List<Transaction> recentTransactions() {
+        return dao.getRecentTransactions(50);
+    }
+    
+    @Benchmark
+    public boolean hasTransactionForMonth() {
+        return dao.hasTransactionForMonth("SIP - Nifty 50 Index Fund", "2024-01");
+    }
+    
+    /** One add and its delete, each firing the normal events. */
+    @Benchmark
+    public boolean addAndDelete() {
+        Transaction transaction = new Transaction("Expense", "Food", Money.ofMinor(12_345), "2024-01-15", "bench", "manual");
+        dao.addTransaction(transaction);
+        return dao.deleteTransaction(transaction.getId());
+    }
+    
+    /** 1,000 rows in one transaction; the ledger grows by that much per call. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean insertBatch1000() {
+        List<Transaction> batch = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            batch.add(new Transaction("Expense", "Food", Money.ofMinor(100 + i), "2024-01-15", "batch", "manual"));
+        }
+        return dao.insertBatch(batch);
+    }
+}
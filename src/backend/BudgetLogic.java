@@ -1,23 +1,32 @@
 package backend;
 
+import database.RollupDAO;
 import database.TransactionDAO;
-import models.Transaction;
-import java.util.List;
+import models.Money;
+import models.TransactionTotals;
 import java.util.Map;
-import java.util.HashMap;
 
 public class BudgetLogic {
     private TransactionDAO transactionDAO;
+    private RollupDAO rollupDAO;
     
     public BudgetLogic() {
         this.transactionDAO = new TransactionDAO();
+        this.rollupDAO = new RollupDAO();
     }
     
     public double calculateBudgetUsagePercentage() {
-        double[] budgetInfo = transactionDAO.getBudgetInfo();
-        double limitAmount = budgetInfo[1];
-        double monthlyIncome = budgetInfo[0];
-        double totalExpenses = transactionDAO.getTotalExpenses();
+        return calculateBudgetUsagePercentage(transactionDAO.getTotals("All Time"));
+    }
+    
+    /**
+     * Budget usage against totals the caller already loaded.
+     */
+    public double calculateBudgetUsagePercentage(TransactionTotals totals) {
+        long[] budgetInfo = transactionDAO.getBudgetInfo();
+        long limitAmount = budgetInfo[1];
+        long monthlyIncome = budgetInfo[0];
+        long totalExpenses = totals.getExpensesMinor();
         
         // If no limit is set, return 0
         if (limitAmount == 0 && monthlyIncome == 0) {
@@ -25,45 +34,39 @@ public class BudgetLogic {
         }
         
         // Use the limit if set, otherwise use income as the reference
-        double baseAmount = limitAmount > 0 ? limitAmount : monthlyIncome;
-        
-        if (baseAmount == 0) {
-            return 0.0;
-        }
+        long baseAmount = limitAmount > 0 ? limitAmount : monthlyIncome;
         
-        return (totalExpenses / baseAmount) * 100;
+        return Money.percent(totalExpenses, baseAmount);
     }
     
     public double getRemainingBudget() {
-        double[] budgetInfo = transactionDAO.getBudgetInfo();
-        double limitAmount = budgetInfo[1];
-        double monthlyIncome = budgetInfo[0];
-        double totalExpenses = transactionDAO.getTotalExpenses();
+        return getRemainingBudget(transactionDAO.getTotals("All Time"));
+    }
+    
+    public double getRemainingBudget(TransactionTotals totals) {
+        long[] budgetInfo = transactionDAO.getBudgetInfo();
+        long limitAmount = budgetInfo[1];
+        long monthlyIncome = budgetInfo[0];
+        long totalExpenses = totals.getExpensesMinor();
         
         // Use limit if set, otherwise use income
-        double baseAmount = limitAmount > 0 ? limitAmount : monthlyIncome;
+        long baseAmount = limitAmount > 0 ? limitAmount : monthlyIncome;
         
-        return Math.max(0, baseAmount - totalExpenses);
+        return Money.toMajor(Math.max(0, baseAmount - totalExpenses));
     }
     
-    public Map<String, Double> getExpensesByCategory() {
-        List<Transaction> transactions = transactionDAO.getAllTransactions();
-        Map<String, Double> categoryExpenses = new HashMap<>();
-        
-        for (Transaction transaction : transactions) {
-            if ("Expense".equals(transaction.getType())) {
-                categoryExpenses.merge(transaction.getCategory(), 
-                                     transaction.getAmount(), 
-                                     Double::sum);
-            }
-        }
-        
-        return categoryExpenses;
+    /**
+     * All-time expense totals per category, in minor units (see Money).
+     */
+    public Map<String, Long> getExpensesByCategory() {
+        return rollupDAO.getTotalsByCategory("Expense", null);
     }
     
     public String getBudgetStatus() {
-        double percentage = calculateBudgetUsagePercentage();
-        
+        return getBudgetStatusForPercentage(calculateBudgetUsagePercentage());
+    }
+    
+    public String getBudgetStatusForPercentage(double percentage) {
         if (percentage <= 50) {
             return "Good - You're within budget";
         } else if (percentage <= 80) {
@@ -76,16 +79,17 @@ public class BudgetLogic {
     }
     
     public String[] generateAIRecommendations() {
-        Map<String, Double> expenses = getExpensesByCategory();
-        double budgetPercentage = calculateBudgetUsagePercentage();
+        Map<String, Long> expenses = getExpensesByCategory();
+        TransactionTotals totals = transactionDAO.getTotals("All Time");
+        double budgetPercentage = calculateBudgetUsagePercentage(totals);
         
         String[] recommendations = new String[3];
         
         // Find highest expense category
         String highestCategory = "";
-        double highestAmount = 0;
+        long highestAmount = 0;
         if (!expenses.isEmpty()) {
-            for (Map.Entry<String, Double> entry : expenses.entrySet()) {
+            for (Map.Entry<String, Long> entry : expenses.entrySet()) {
                 if (entry.getValue() > highestAmount) {
                     highestAmount = entry.getValue();
                     highestCategory = entry.getKey();
@@ -102,7 +106,7 @@ public class BudgetLogic {
                                "% of your budget. Consider reducing expenses.";
             if (!highestCategory.isEmpty() && highestAmount > 0) {
                 recommendations[1] = "💡 Your highest spending category is " + highestCategory + 
-                                   " ($" + String.format("%.2f", highestAmount) + 
+                                   " ($" + Money.toPlainString(highestAmount) + 
                                    "). Try reducing this by 15%.";
             } else {
                 recommendations[1] = "💡 Start tracking your expenses by category to optimize spending.";
@@ -112,7 +116,7 @@ public class BudgetLogic {
             recommendations[0] = "👍 You're doing well at " + String.format("%.1f", budgetPercentage) + 
                                "% of your budget.";
             recommendations[1] = "💰 Consider saving the remaining $" + 
-                               String.format("%.2f", getRemainingBudget()) + " for emergencies.";
+                               String.format("%.2f", getRemainingBudget(totals)) + " for emergencies.";
             if (!highestCategory.isEmpty() && highestAmount > 0) {
                 recommendations[2] = "📈 Track your " + highestCategory + " expenses more closely.";
             } else {
@@ -129,19 +133,20 @@ public class BudgetLogic {
     }
     
     public double calculateSavingsRate() {
-        double totalIncome = transactionDAO.getTotalIncome();
-        double totalExpenses = transactionDAO.getTotalExpenses();
-        
-        if (totalIncome == 0) {
-            return 0.0;
-        }
-        
-        double savings = totalIncome - totalExpenses;
-        return (savings / totalIncome) * 100;
+        return calculateSavingsRate(transactionDAO.getTotals("All Time"));
+    }
+    
+    public double calculateSavingsRate(TransactionTotals totals) {
+        // Exact long arithmetic; only the final ratio is a double
+        return Money.percent(totals.getBalanceMinor(), totals.getIncomeMinor());
     }
     
     public String getFinancialHealth() {
-        double savingsRate = calculateSavingsRate();
+        return getFinancialHealth(transactionDAO.getTotals("All Time"));
+    }
+    
+    public String getFinancialHealth(TransactionTotals totals) {
+        double savingsRate = calculateSavingsRate(totals);
         
         if (savingsRate >= 20) {
             return "Excellent";
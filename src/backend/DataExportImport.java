@@ -1,11 +1,24 @@
 package backend;
 
 import database.TransactionDAO;
+import events.TransactionEventManager;
+import models.Money;
 import models.Transaction;
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class DataExportImport {
+    private static final int IMPORT_BATCH_SIZE = 1000;
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+    
     private TransactionDAO transactionDAO;
     
     public DataExportImport() {
@@ -16,43 +29,105 @@ public class DataExportImport {
      * Export all transactions to a CSV file
      */
     public boolean exportToCSV(String filePath) {
+        return exportToCSV(filePath, ExportOptions.all().setGzip(filePath.endsWith(".gz")));
+    }
+    
+    /**
+     * Export transactions matching the options to a CSV file, optionally gzip-compressed.
+     * WHY: Rows stream from the database cursor straight into a buffered UTF-8 writer,
+     * so export memory stays constant no matter how large the ledger is.
+     */
+    public boolean exportToCSV(String filePath, ExportOptions options) {
+        String toDateExclusive = null;
         try {
-            List<Transaction> transactions = transactionDAO.getAllTransactions();
-            
-            FileWriter csvWriter = new FileWriter(filePath);
-            
+            if (options.getFromDate() != null) {
+                LocalDate.parse(options.getFromDate());
+            }
+            if (options.getToDate() != null) {
+                toDateExclusive = LocalDate.parse(options.getToDate()).plusDays(1).toString();
+            }
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid export date range: " + e.getMessage());
+            return false;
+        }
+        
+        try (Writer csvWriter = openWriter(filePath, options.isGzip())) {
             // Write header
-            csvWriter.append("ID,Type,Category,Amount,Date,Notes,Source\n");
+            csvWriter.write("ID,Type,Category,Amount,Date,Notes,Source\n");
             
             // Write data
-            for (Transaction t : transactions) {
-                csvWriter.append(String.valueOf(t.getId())).append(",");
-                csvWriter.append("\"").append(t.getType()).append("\",");
-                csvWriter.append("\"").append(t.getCategory()).append("\",");
-                csvWriter.append(String.valueOf(t.getAmount())).append(",");
-                csvWriter.append("\"").append(t.getDate()).append("\",");
-                csvWriter.append("\"").append(escapeCSV(t.getNotes())).append("\",");
-                csvWriter.append("\"").append(t.getSource()).append("\"\n");
-            }
-            
-            csvWriter.flush();
-            csvWriter.close();
-            
-            return true;
+            int rows = transactionDAO.forEachTransaction(options.getFromDate(), toDateExclusive,
+                options.getSourcePrefix(), t -> {
+                    csvWriter.write(String.valueOf(t.getId()));
+                    csvWriter.write(',');
+                    writeQuoted(csvWriter, t.getType());
+                    csvWriter.write(',');
+                    writeQuoted(csvWriter, t.getCategory());
+                    csvWriter.write(',');
+                    csvWriter.write(Money.toPlainString(t.getAmountMinor()));
+                    csvWriter.write(',');
+                    writeQuoted(csvWriter, t.getDate());
+                    csvWriter.write(',');
+                    writeQuoted(csvWriter, t.getNotes());
+                    csvWriter.write(',');
+                    writeQuoted(csvWriter, t.getSource());
+                    csvWriter.write('\n');
+                });
+            return rows >= 0;
         } catch (IOException e) {
             System.err.println("Error exporting to CSV: " + e.getMessage());
             return false;
         }
     }
     
+    private static Writer openWriter(String filePath, boolean gzip) throws IOException {
+        OutputStream out = Files.newOutputStream(Paths.get(filePath));
+        if (gzip) {
+            out = new GZIPOutputStream(out, IO_BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+    }
+    
+    private static Reader openReader(String filePath) throws IOException {
+        InputStream in = Files.newInputStream(Paths.get(filePath));
+        if (filePath.endsWith(".gz")) {
+            in = new GZIPInputStream(in, IO_BUFFER_SIZE);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Write a value wrapped in quotes, doubling embedded quotes. Null is written as "".
+     * WHY: Copies unquoted runs in bulk instead of running a regex over every value
+     */
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        if (value != null) {
+            int start = 0;
+            int quote;
+            while ((quote = value.indexOf('"', start)) >= 0) {
+                writer.write(value, start, quote - start + 1);
+                writer.write('"');
+                start = quote + 1;
+            }
+            writer.write(value, start, value.length() - start);
+        }
+        writer.write('"');
+    }
+    
     /**
      * Import transactions from a CSV file
+     * WHY: Lines are streamed and written in batches of IMPORT_BATCH_SIZE, one database
+     * transaction each, with a single refresh event at the end instead of one per row.
      */
-    public boolean importFromCSV(String filePath) {
-        try {
-            BufferedReader reader = new BufferedReader(new FileReader(filePath));
+    public ImportResult importFromCSV(String filePath) {
+        ImportResult result = new ImportResult();
+        List<Transaction> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int batchStartLine = 0;
+        int lineNumber = 0;
+        
+        try (BufferedReader reader = new BufferedReader(openReader(filePath), IO_BUFFER_SIZE)) {
             String line;
-            int lineNumber = 0;
             
             // Skip header
             reader.readLine();
@@ -63,40 +138,84 @@ public class DataExportImport {
                 if (line.trim().isEmpty()) continue;
                 
                 try {
-                    String[] values = parseCSVLine(line);
-                    
-                    if (values.length >= 5) {
-                        String type = values[1];
-                        String category = values[2];
-                        double amount = Double.parseDouble(values[3]);
-                        String date = values[4];
-                        String notes = values.length > 5 ? values[5] : "";
-                        String source = values.length > 6 ? values[6] : "manual";
-                        
-                        Transaction transaction = new Transaction(type, category, amount, date, notes, source);
-                        
-                        if (!transactionDAO.addTransaction(transaction)) {
-                            System.err.println("Failed to import transaction at line " + lineNumber);
-                        }
+                    Transaction transaction = parseTransaction(line);
+                    if (batch.isEmpty()) {
+                        batchStartLine = lineNumber;
                     }
-                } catch (Exception e) {
-                    System.err.println("Error parsing line " + lineNumber + ": " + e.getMessage());
+                    batch.add(transaction);
+                } catch (IllegalArgumentException e) {
+                    result.addError(lineNumber, e.getMessage());
+                    continue;
+                }
+                
+                if (batch.size() >= IMPORT_BATCH_SIZE) {
+                    flushBatch(batch, batchStartLine, lineNumber, result);
                 }
             }
-            
-            reader.close();
-            return true;
+            flushBatch(batch, batchStartLine, lineNumber, result);
         } catch (IOException e) {
             System.err.println("Error importing from CSV: " + e.getMessage());
-            return false;
+            result.markFileUnreadable("Could not read file: " + e.getMessage());
+        }
+        
+        if (result.getImportedCount() > 0) {
+            TransactionEventManager.getInstance().notifyTransactionsRefreshed();
+        }
+        return result;
+    }
+    
+    private void flushBatch(List<Transaction> batch, int firstLine, int lastLine, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (transactionDAO.insertBatch(batch)) {
+            result.addImported(batch.size());
+        } else {
+            result.addError("Lines " + firstLine + "-" + lastLine + ": database rejected the batch of " + batch.size() + " rows");
+        }
+        batch.clear();
+    }
+    
+    /**
+     * Parse one exported CSV row (ID,Type,Category,Amount,Date,Notes,Source).
+     * @throws IllegalArgumentException describing why the row was rejected
+     */
+    private Transaction parseTransaction(String line) {
+        String[] values = parseCSVLine(line);
+        if (values.length < 5) {
+            throw new IllegalArgumentException("expected at least 5 columns, found " + values.length);
+        }
+        
+        String type = values[1];
+        String category = values[2];
+        Money amount;
+        try {
+            // Parsed exactly, so "0.10" stays ten paise instead of a binary approximation
+            amount = Money.parse(values[3]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid amount '" + values[3] + "'");
+        }
+        String date = values[4];
+        try {
+            // Date range queries compare the column as text, so it must be ISO yyyy-MM-dd
+            LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("invalid date '" + date + "' (expected YYYY-MM-DD)");
         }
+        if (type.isEmpty() || category.isEmpty()) {
+            throw new IllegalArgumentException("missing type or category");
+        }
+        String notes = values.length > 5 ? values[5] : "";
+        String source = values.length > 6 && !values[6].isEmpty() ? values[6] : "manual";
+        
+        return new Transaction(type, category, amount, date, notes, source);
     }
     
     /**
-     * Parse a CSV line handling quoted values
+     * Parse a CSV line handling quoted values ("" is an escaped quote)
      */
-    private String[] parseCSVLine(String line) {
-        java.util.List<String> values = new java.util.ArrayList<>();
+    public static String[] parseCSVLine(String line) {
+        List<String> values = new ArrayList<>();
         StringBuilder current = new StringBuilder();
         boolean inQuotes = false;
         
@@ -104,10 +223,16 @@ public class DataExportImport {
             char c = line.charAt(i);
             
             if (c == '"') {
-                inQuotes = !inQuotes;
+                if (inQuotes && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    // Escaped quote inside a quoted value
+                    current.append('"');
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
             } else if (c == ',' && !inQuotes) {
                 values.add(current.toString());
-                current = new StringBuilder();
+                current.setLength(0);
             } else {
                 current.append(c);
             }
@@ -117,14 +242,6 @@ public class DataExportImport {
         return values.toArray(new String[0]);
     }
     
-    /**
-     * Escape CSV special characters
-     */
-    private String escapeCSV(String value) {
-        if (value == null) return "";
-        return value.replaceAll("\"", "\"\"");
-    }
-    
     /**
      * Create a backup file with timestamp
      */
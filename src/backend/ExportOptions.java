@@ -0,0 +1,27 @@
+package backend;
+
+/**
+ * Filters and output format for a CSV export. The defaults export every transaction uncompressed.
+ */
+public class ExportOptions {
+    private String fromDate;      // Inclusive, YYYY-MM-DD; null for no lower bound
+    private String toDate;        // Inclusive, YYYY-MM-DD; null for no upper bound
+    private String sourcePrefix;  // e.g. "manual" or "investment"; null for all sources
+    private boolean gzip;
+    
+    public static ExportOptions all() {
+        return new ExportOptions();
+    }
+    
+    // Getters
+    public String getFromDate() { return fromDate; }
+    public String getToDate() { return toDate; }
+    public String getSourcePrefix() { return sourcePrefix; }
+    public boolean isGzip() { return gzip; }
+    
+    // Setters (chainable)
+    public ExportOptions setFromDate(String fromDate) { this.fromDate = fromDate; return this; }
+    public ExportOptions setToDate(String toDate) { this.toDate = toDate; return this; }
+    public ExportOptions setSourcePrefix(String sourcePrefix) { this.sourcePrefix = sourcePrefix; return this; }
+    public ExportOptions setGzip(boolean gzip) { this.gzip = gzip; return this; }
+}
@@ -0,0 +1,79 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a CSV import: how many rows landed and which lines were rejected.
+ */
+public class ImportResult {
+    // Keep memory bounded when a large file is mostly malformed
+    private static final int MAX_RECORDED_ERRORS = 1000;
+    
+    private boolean fileRead = true;
+    private int importedCount = 0;
+    private int errorCount = 0;
+    private final List<String> errors = new ArrayList<>();
+    
+    void addImported(int count) {
+        importedCount += count;
+    }
+    
+    void addError(int lineNumber, String message) {
+        addError("Line " + lineNumber + ": " + message);
+    }
+    
+    void addError(String message) {
+        errorCount++;
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add(message);
+        }
+    }
+    
+    void markFileUnreadable(String message) {
+        fileRead = false;
+        addError(message);
+    }
+    
+    /**
+     * True if the file could be read, even if some lines were rejected.
+     */
+    public boolean isSuccess() {
+        return fileRead;
+    }
+    
+    public int getImportedCount() {
+        return importedCount;
+    }
+    
+    public int getErrorCount() {
+        return errorCount;
+    }
+    
+    /**
+     * Recorded error messages; capped, so may be shorter than getErrorCount().
+     */
+    public List<String> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+    
+    /**
+     * Short, human-readable summary listing at most maxErrors rejected lines.
+     */
+    public String getSummary(int maxErrors) {
+        StringBuilder summary = new StringBuilder();
+        summary.append("Imported ").append(importedCount).append(" transaction(s)");
+        if (errorCount > 0) {
+            summary.append(", ").append(errorCount).append(" problem(s):");
+            int shown = Math.min(maxErrors, errors.size());
+            for (int i = 0; i < shown; i++) {
+                summary.append("\n  • ").append(errors.get(i));
+            }
+            if (errorCount > shown) {
+                summary.append("\n  • ... and ").append(errorCount - shown).append(" more");
+            }
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,489 @@
+package backend;
+
+import database.TransactionDAO;
+import events.TransactionEventManager;
+import events.TransactionListener;
+import models.Transaction;
+import models.TransactionTotals;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-optimized in-memory copy of the ledger, held as parallel primitive arrays.
+ * WHY: All-time analytics scan ints and longs instead of boxed Transactions with String
+ * dates and types, so a million rows fit in about 20 MB and aggregate in milliseconds.
+ * Dates are epoch days; type, category and source are dictionary-encoded.
+ *
+ * Loaded lazily on first query, then kept current from transaction events, which are
+ * applied synchronously as each write is announced, so asynchronous listeners always
+ * read an up-to-date snapshot. A bulk refresh (import, SIP processing) marks it stale
+ * and the next query reloads it.
+ */
+public final class LedgerSnapshot implements TransactionListener {
+    private static final int INITIAL_CAPACITY = 1024;
+    // Deleted rows are compacted away once they make up this share of the arrays
+    private static final double MAX_DELETED_FRACTION = 0.25;
+    private static final byte DELETED = -1;
+    // Stands in for an unparseable date: matches open-ended queries only
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    
+    private static LedgerSnapshot instance;
+    
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // One row per transaction, sorted by id
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] amounts = new long[INITIAL_CAPACITY];    // Minor units (see Money)
+    private byte[] types = new byte[INITIAL_CAPACITY];      // DELETED for a removed row
+    private short[] categories = new short[INITIAL_CAPACITY];
+    private short[] sources = new short[INITIAL_CAPACITY];
+    private int size = 0;
+    private int deleted = 0;
+    // Bumped by every bulk refresh; the snapshot is current while loadedGeneration matches it
+    private final AtomicLong generation = new AtomicLong(1);
+    private volatile long loadedGeneration = 0;
+    
+    // All-time sums over live rows, kept current row by row so they cost nothing to read
+    private long incomeTotal = 0;
+    private long expenseTotal = 0;
+    
+    private final Dictionary typeNames = new Dictionary();
+    private final Dictionary categoryNames = new Dictionary();
+    private final Dictionary sourceNames = new Dictionary();
+    private final int incomeCode;
+    private final int expenseCode;
+    
+    /**
+     * Receives one row per transaction from scan, as primitives.
+     * Codes can be resolved with getTypeCode and getCategoryName.
+     */
+    public interface RowVisitor {
+        void visit(int epochDay, int typeCode, int categoryCode, int sourceCode, long amountMinor);
+    }
+    
+    private LedgerSnapshot() {
+        incomeCode = typeNames.encode("Income");
+        expenseCode = typeNames.encode("Expense");
+    }
+    
+    public static synchronized LedgerSnapshot getInstance() {
+        if (instance == null) {
+            instance = new LedgerSnapshot();
+            TransactionEventManager.getInstance().subscribeSynchronous(instance);
+        }
+        return instance;
+    }
+    
+    /**
+     * Income, expenses and count for dates in [from, toExclusive); null leaves a side open.
+     * All-time totals (both sides open) are kept running and cost no scan.
+     */
+    public TransactionTotals getTotals(LocalDate from, LocalDate toExclusive) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            if (from == null && toExclusive == null) {
+                return new TransactionTotals(incomeTotal, expenseTotal, size - deleted);
+            }
+            int fromDay = from == null ? NO_DATE : (int) from.toEpochDay();
+            int toDay = toExclusive == null ? Integer.MAX_VALUE : (int) toExclusive.toEpochDay();
+            long income = 0;
+            long expense = 0;
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (types[i] == DELETED || day < fromDay || day >= toDay) {
+                    continue;
+                }
+                if (types[i] == incomeCode) {
+                    income += amounts[i];
+                } else if (types[i] == expenseCode) {
+                    expense += amounts[i];
+                }
+                count++;
+            }
+            return new TransactionTotals(income, expense, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Totals per category for one type and dates in [from, toExclusive), highest first,
+     * in minor units.
+     */
+    public Map<String, Long> getTotalsByCategory(String type, LocalDate from, LocalDate toExclusive) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<String, Long> result = new LinkedHashMap<>();
+            int typeCode = typeNames.lookup(type);
+            if (typeCode < 0) {
+                return result;
+            }
+            int fromDay = from == null ? NO_DATE : (int) from.toEpochDay();
+            int toDay = toExclusive == null ? Integer.MAX_VALUE : (int) toExclusive.toEpochDay();
+            long[] sums = new long[categoryNames.size()];
+            boolean[] seen = new boolean[sums.length];
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (types[i] != typeCode || day < fromDay || day >= toDay) {
+                    continue;
+                }
+                sums[categories[i]] += amounts[i];
+                seen[categories[i]] = true;
+            }
+            
+            // Order category codes by total, highest first
+            Integer[] order = new Integer[sums.length];
+            for (int code = 0; code < order.length; code++) {
+                order[code] = code;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(sums[b], sums[a]));
+            for (int code : order) {
+                if (seen[code]) {
+                    result.put(categoryNames.decode(code), sums[code]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Totals for one type per calendar month in [from, toExclusive), in minor units.
+     * Index 0 is from; months with no transactions are 0.
+     */
+    public long[] getMonthlyTotals(String type, YearMonth from, YearMonth toExclusive) {
+        int months = (int) Math.max(0, from.until(toExclusive, java.time.temporal.ChronoUnit.MONTHS));
+        long[] totals = new long[months];
+        if (months == 0) {
+            return totals;
+        }
+        // Month boundaries as epoch days, so each row costs one binary search
+        int[] starts = new int[months + 1];
+        for (int m = 0; m <= months; m++) {
+            starts[m] = (int) from.plusMonths(m).atDay(1).toEpochDay();
+        }
+        
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int typeCode = typeNames.lookup(type);
+            if (typeCode < 0) {
+                return totals;
+            }
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (types[i] != typeCode || day < starts[0] || day >= starts[months]) {
+                    continue;
+                }
+                int slot = Arrays.binarySearch(starts, day);
+                if (slot < 0) {
+                    slot = -slot - 2;
+                }
+                totals[slot] += amounts[i];
+            }
+            return totals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Visit every row with a date in [from, toExclusive), in id order.
+     * The visitor runs under the snapshot's read lock and must not write transactions.
+     */
+    public void scan(LocalDate from, LocalDate toExclusive, RowVisitor visitor) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int fromDay = from == null ? NO_DATE : (int) from.toEpochDay();
+            int toDay = toExclusive == null ? Integer.MAX_VALUE : (int) toExclusive.toEpochDay();
+            for (int i = 0; i < size; i++) {
+                int day = epochDays[i];
+                if (types[i] == DELETED || day < fromDay || day >= toDay) {
+                    continue;
+                }
+                visitor.visit(day, types[i], categories[i], sources[i], amounts[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * @return The code scan reports for a type such as "Expense", or -1 if no row has it
+     */
+    public int getTypeCode(String type) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return typeNames.lookup(type);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public String getCategoryName(int categoryCode) {
+        lock.readLock().lock();
+        try {
+            return categoryNames.decode(categoryCode);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public String getSourceName(int sourceCode) {
+        lock.readLock().lock();
+        try {
+            return sourceNames.decode(sourceCode);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Number of transactions in the snapshot.
+     */
+    public int size() {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return size - deleted;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Transaction events, delivered synchronously on the writing thread
+    @Override
+    public void onTransactionAdded(Transaction transaction) {
+        lock.writeLock().lock();
+        try {
+            if (!isStale()) {
+                put(transaction);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void onTransactionDeleted(int transactionId) {
+        lock.writeLock().lock();
+        try {
+            if (isStale()) {
+                return;
+            }
+            int row = Arrays.binarySearch(ids, 0, size, transactionId);
+            if (row >= 0 && types[row] != DELETED) {
+                account(row, -1);
+                types[row] = DELETED;
+                deleted++;
+                if (deleted > size * MAX_DELETED_FRACTION) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void onTransactionUpdated(Transaction transaction) {
+        onTransactionAdded(transaction);
+    }
+    
+    @Override
+    public void onTransactionsRefreshed() {
+        // Reloaded on the next query rather than here, on the writing thread. A counter rather
+        // than a flag, so a refresh during a running reload is not cleared by that reload
+        generation.incrementAndGet();
+    }
+    
+    private boolean isStale() {
+        return loadedGeneration != generation.get();
+    }
+    
+    private void ensureLoaded() {
+        if (!isStale()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (isStale()) {
+                reload();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Rebuild from the database. Runs under the write lock, so events for writes that
+     * commit meanwhile wait and are applied (deduplicated by id) afterwards.
+     */
+    private void reload() {
+        size = 0;
+        deleted = 0;
+        incomeTotal = 0;
+        expenseTotal = 0;
+        long startedAt = generation.get();
+        int rows = transactionDAO.scanLedger((id, type, category, source, date, amountMinor) ->
+            append(id, parseEpochDay(date), amountMinor, type, category, source));
+        // On failure stay stale, so the next query tries again
+        if (rows >= 0) {
+            loadedGeneration = startedAt;
+        }
+    }
+    
+    /**
+     * Insert or overwrite the row for a transaction, keeping rows sorted by id.
+     */
+    private void put(Transaction transaction) {
+        int id = transaction.getId();
+        int epochDay = parseEpochDay(transaction.getDate());
+        if (size == 0 || id > ids[size - 1]) {
+            append(id, epochDay, transaction.getAmountMinor(), transaction.getType(),
+                transaction.getCategory(), transaction.getSource());
+            return;
+        }
+        int row = Arrays.binarySearch(ids, 0, size, id);
+        if (row < 0) {
+            row = -row - 1;
+            ensureCapacity(size + 1);
+            int tail = size - row;
+            System.arraycopy(ids, row, ids, row + 1, tail);
+            System.arraycopy(epochDays, row, epochDays, row + 1, tail);
+            System.arraycopy(amounts, row, amounts, row + 1, tail);
+            System.arraycopy(types, row, types, row + 1, tail);
+            System.arraycopy(categories, row, categories, row + 1, tail);
+            System.arraycopy(sources, row, sources, row + 1, tail);
+            size++;
+        } else if (types[row] == DELETED) {
+            deleted--;
+        } else {
+            account(row, -1);
+        }
+        setRow(row, id, epochDay, transaction.getAmountMinor(), transaction.getType(),
+            transaction.getCategory(), transaction.getSource());
+        account(row, 1);
+    }
+    
+    private void append(int id, int epochDay, long amountMinor, String type, String category, String source) {
+        ensureCapacity(size + 1);
+        setRow(size, id, epochDay, amountMinor, type, category, source);
+        account(size, 1);
+        size++;
+    }
+    
+    /**
+     * Add (sign 1) or remove (sign -1) a live row's amount from the all-time totals.
+     */
+    private void account(int row, int sign) {
+        if (types[row] == incomeCode) {
+            incomeTotal += sign * amounts[row];
+        } else if (types[row] == expenseCode) {
+            expenseTotal += sign * amounts[row];
+        }
+    }
+    
+    private void setRow(int row, int id, int epochDay, long amountMinor, String type, String category, String source) {
+        ids[row] = id;
+        epochDays[row] = epochDay;
+        amounts[row] = amountMinor;
+        types[row] = (byte) typeNames.encode(type);
+        categories[row] = (short) categoryNames.encode(category);
+        sources[row] = (short) sourceNames.encode(source);
+    }
+    
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        amounts = Arrays.copyOf(amounts, capacity);
+        types = Arrays.copyOf(types, capacity);
+        categories = Arrays.copyOf(categories, capacity);
+        sources = Arrays.copyOf(sources, capacity);
+    }
+    
+    /**
+     * Squeeze out deleted rows in place, preserving id order.
+     */
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (types[i] == DELETED) {
+                continue;
+            }
+            ids[kept] = ids[i];
+            epochDays[kept] = epochDays[i];
+            amounts[kept] = amounts[i];
+            types[kept] = types[i];
+            categories[kept] = categories[i];
+            sources[kept] = sources[i];
+            kept++;
+        }
+        size = kept;
+        deleted = 0;
+    }
+    
+    private static int parseEpochDay(String date) {
+        if (date == null) {
+            return NO_DATE;
+        }
+        try {
+            return (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+    
+    /**
+     * Assigns small integer codes to repeated strings (types, categories, sources).
+     * Codes are never reused, so they stay valid across reloads.
+     */
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                values.add(value);
+                codes.put(value, code);
+            }
+            return code;
+        }
+        
+        int lookup(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+        
+        String decode(int code) {
+            return values.get(code);
+        }
+        
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package database;
+
+import java.sql.*;
+
+/**
+ * Persists AI answers in ai_response_cache so repeated questions survive a restart.
+ * WHY: Only the service-level cache knows keys and expiry rules; this class just stores rows
+ */
+public class AIResponseCacheDAO {
+    
+    /**
+     * One stored answer
+     */
+    public static class CachedResponse {
+        private final String contextHash;
+        private final String response;
+        private final long createdAt;
+        
+        public CachedResponse(String contextHash, String response, long createdAt) {
+            this.contextHash = contextHash;
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+        
+        public String getContextHash() { return contextHash; }
+        public String getResponse() { return response; }
+        /** Epoch milliseconds */
+        public long getCreatedAt() { return createdAt; }
+    }
+    
+    /**
+     * @return The stored answer, or null if there is none or the query failed
+     */
+    public CachedResponse find(String cacheKey) {
+        String sql = "SELECT context_hash, response, created_at FROM ai_response_cache WHERE cache_key = ?";
+        
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, cacheKey);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new CachedResponse(rs.getString("context_hash"), rs.getString("response"),
+                            rs.getLong("created_at"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading cached AI response: " + e.getMessage());
+        }
+        return null;
+    }
+    
+    /**
+     * Store an answer, replacing any previous answer under the same key
+     */
+    public boolean save(String cacheKey, String contextHash, String provider, String model,
+                        String question, String response, long createdAt) {
+        String sql = "INSERT INTO ai_response_cache "
+            + "(cache_key, context_hash, provider, model, question, response, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT(cache_key) DO UPDATE SET context_hash = excluded.context_hash, "
+            + "response = excluded.response, created_at = excluded.created_at";
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, cacheKey);
+                pstmt.setString(2, contextHash);
+                pstmt.setString(3, provider);
+                pstmt.setString(4, model);
+                pstmt.setString(5, question);
+                pstmt.setString(6, response);
+                pstmt.setLong(7, createdAt);
+                return pstmt.executeUpdate() > 0;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error saving AI response: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Drop answers computed against any other context, plus those created before cutoff,
+     * then keep only the newest maxEntries.
+     * @return Number of rows deleted, or -1 on error
+     */
+    public int prune(String contextHash, long cutoff, int maxEntries) {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            int deleted = 0;
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "DELETE FROM ai_response_cache WHERE context_hash <> ? OR created_at < ?")) {
+                pstmt.setString(1, contextHash);
+                pstmt.setLong(2, cutoff);
+                deleted += pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "DELETE FROM ai_response_cache WHERE cache_key NOT IN "
+                    + "(SELECT cache_key FROM ai_response_cache ORDER BY created_at DESC LIMIT ?)")) {
+                pstmt.setInt(1, maxEntries);
+                deleted += pstmt.executeUpdate();
+            }
+            return deleted;
+        } catch (SQLException e) {
+            System.err.println("Error pruning AI responses: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Remove every stored answer
+     */
+    public boolean clear() {
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DELETE FROM ai_response_cache");
+                return true;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error clearing AI responses: " + e.getMessage());
+            return false;
+        }
+    }
+}
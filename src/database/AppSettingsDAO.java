@@ -8,13 +8,21 @@ public class AppSettingsDAO {
      * Get a setting value by key
      */
     public String getSetting(String key, String defaultValue) {
+        String value = QueryCache.getInstance().get("getSetting:" + key, () -> loadSetting(key),
+            QueryCache.APP_SETTINGS);
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * @return The stored value, or null if it is unset or the query failed (neither is cached)
+     */
+    private String loadSetting(String key) {
         String sql = "SELECT value FROM app_settings WHERE key = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
-                return defaultValue;
+                return null;
             }
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -29,49 +37,17 @@ public class AppSettingsDAO {
             System.err.println("Error retrieving setting: " + e.getMessage());
         }
         
-        return defaultValue;
+        return null;
     }
     
     /**
-     * Set a setting value
+     * Set a setting value, inserting or replacing it in one statement
      */
     public boolean setSetting(String key, String value) {
-        // First check if setting exists
-        String checkSql = "SELECT id FROM app_settings WHERE key = ?";
+        String sql = "INSERT INTO app_settings (key, value) VALUES (?, ?) " +
+                     "ON CONFLICT(key) DO UPDATE SET value = excluded.value";
         
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return false;
-            }
-            
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setString(1, key);
-                ResultSet rs = checkStmt.executeQuery();
-                
-                if (rs.next()) {
-                    // Update existing setting
-                    return updateSetting(key, value);
-                } else {
-                    // Insert new setting
-                    return insertSetting(key, value);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error setting property: " + e.getMessage());
-            return false;
-        }
-    }
-    
-    /**
-     * Insert a new setting
-     */
-    private boolean insertSetting(String key, String value) {
-        String sql = "INSERT INTO app_settings (key, value) VALUES (?, ?)";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -82,36 +58,11 @@ public class AppSettingsDAO {
                 pstmt.setString(2, value);
                 
                 int result = pstmt.executeUpdate();
+                QueryCache.getInstance().invalidate(QueryCache.APP_SETTINGS);
                 return result > 0;
             }
         } catch (SQLException e) {
-            System.err.println("Error inserting setting: " + e.getMessage());
-            return false;
-        }
-    }
-    
-    /**
-     * Update an existing setting
-     */
-    private boolean updateSetting(String key, String value) {
-        String sql = "UPDATE app_settings SET value = ? WHERE key = ?";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return false;
-            }
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, value);
-                pstmt.setString(2, key);
-                
-                int result = pstmt.executeUpdate();
-                return result > 0;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error updating setting: " + e.getMessage());
+            System.err.println("Error setting property: " + e.getMessage());
             return false;
         }
     }
@@ -122,8 +73,7 @@ public class AppSettingsDAO {
     public boolean deleteAllTransactions() {
         String sql = "DELETE FROM transactions";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -131,6 +81,7 @@ public class AppSettingsDAO {
             
             try (Statement stmt = conn.createStatement()) {
                 stmt.execute(sql);
+                QueryCache.getInstance().invalidate(QueryCache.TRANSACTIONS);
                 return true;
             }
         } catch (SQLException e) {
@@ -143,8 +94,7 @@ public class AppSettingsDAO {
      * Reset all application data
      */
     public boolean resetAllData() {
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -157,7 +107,8 @@ public class AppSettingsDAO {
                 stmt.execute("DELETE FROM transactions");
                 // Reset budget to defaults
                 stmt.execute("DELETE FROM budget");
-                stmt.execute("INSERT INTO budget (monthly_income, limit_amount) VALUES (0.0, 0.0)");
+                stmt.execute("INSERT INTO budget (monthly_income, limit_amount) VALUES (0, 0)");
+                QueryCache.getInstance().invalidateAll();
                 
                 return true;
             }
@@ -19,8 +19,7 @@ public class CategoryBudgetDAO {
                      "JOIN categories c ON cb.category_id = c.id " +
                      "WHERE cb.category_id = ? AND cb.month = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return null;
@@ -32,13 +31,7 @@ public class CategoryBudgetDAO {
                 ResultSet rs = pstmt.executeQuery();
                 
                 if (rs.next()) {
-                    return new BudgetCategory(
-                        rs.getInt("id"),
-                        rs.getInt("category_id"),
-                        rs.getString("name"),
-                        rs.getString("month"),
-                        rs.getDouble("limit_amount")
-                    );
+                    return mapBudget(rs);
                 }
             }
         } catch (SQLException e) {
@@ -59,8 +52,7 @@ public class CategoryBudgetDAO {
                      "WHERE cb.month = ? " +
                      "ORDER BY c.name";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return budgets;
@@ -71,13 +63,7 @@ public class CategoryBudgetDAO {
                 ResultSet rs = pstmt.executeQuery();
                 
                 while (rs.next()) {
-                    budgets.add(new BudgetCategory(
-                        rs.getInt("id"),
-                        rs.getInt("category_id"),
-                        rs.getString("name"),
-                        rs.getString("month"),
-                        rs.getDouble("limit_amount")
-                    ));
+                    budgets.add(mapBudget(rs));
                 }
             }
         } catch (SQLException e) {
@@ -98,8 +84,7 @@ public class CategoryBudgetDAO {
                      "WHERE cb.category_id = ? " +
                      "ORDER BY cb.month DESC";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return budgets;
@@ -110,13 +95,7 @@ public class CategoryBudgetDAO {
                 ResultSet rs = pstmt.executeQuery();
                 
                 while (rs.next()) {
-                    budgets.add(new BudgetCategory(
-                        rs.getInt("id"),
-                        rs.getInt("category_id"),
-                        rs.getString("name"),
-                        rs.getString("month"),
-                        rs.getDouble("limit_amount")
-                    ));
+                    budgets.add(mapBudget(rs));
                 }
             }
         } catch (SQLException e) {
@@ -127,17 +106,25 @@ public class CategoryBudgetDAO {
     }
     
     /**
-     * Get map of category budgets for a month (category_id -> limit_amount)
+     * Get map of category budgets for a month (category_id -> limit in minor units, see Money)
      */
-    public Map<Integer, Double> getBudgetMapByMonth(String month) {
-        Map<Integer, Double> budgetMap = new HashMap<>();
+    public Map<Integer, Long> getBudgetMapByMonth(String month) {
+        Map<Integer, Long> budgetMap = QueryCache.getInstance().get("getBudgetMapByMonth:" + month,
+            () -> loadBudgetMapByMonth(month), QueryCache.CATEGORY_BUDGETS);
+        return budgetMap != null ? new HashMap<>(budgetMap) : new HashMap<>();
+    }
+    
+    /**
+     * @return The map, or null on error so the failure is not cached
+     */
+    private Map<Integer, Long> loadBudgetMapByMonth(String month) {
+        Map<Integer, Long> budgetMap = new HashMap<>();
         String sql = "SELECT category_id, limit_amount FROM category_budgets WHERE month = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
-                return budgetMap;
+                return null;
             }
             
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -145,99 +132,82 @@ public class CategoryBudgetDAO {
                 ResultSet rs = pstmt.executeQuery();
                 
                 while (rs.next()) {
-                    budgetMap.put(rs.getInt("category_id"), rs.getDouble("limit_amount"));
+                    budgetMap.put(rs.getInt("category_id"), rs.getLong("limit_amount"));
                 }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving budget map: " + e.getMessage());
+            return null;
         }
         
         return budgetMap;
     }
     
-    /**
-     * Add or update a budget for a category in a specific month
-     */
-    public boolean setBudget(int categoryId, String month, double limitAmount) {
-        // First check if budget exists
-        String checkSql = "SELECT id FROM category_budgets WHERE category_id = ? AND month = ?";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return false;
-            }
-            
-            try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                checkStmt.setInt(1, categoryId);
-                checkStmt.setString(2, month);
-                ResultSet rs = checkStmt.executeQuery();
-                
-                if (rs.next()) {
-                    // Budget exists, update it
-                    return updateBudget(categoryId, month, limitAmount);
-                } else {
-                    // Budget doesn't exist, insert new
-                    return insertBudget(categoryId, month, limitAmount);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error setting budget: " + e.getMessage());
-            return false;
-        }
-    }
+    private static final String UPSERT_BUDGET_SQL =
+        "INSERT INTO category_budgets (category_id, month, limit_amount) VALUES (?, ?, ?) " +
+        "ON CONFLICT(category_id, month) DO UPDATE SET limit_amount = excluded.limit_amount";
     
     /**
-     * Insert a new budget
+     * Add or update a budget for a category in a specific month
+     * @param limitAmount Limit in minor units (see Money)
      */
-    private boolean insertBudget(int categoryId, String month, double limitAmount) {
-        String sql = "INSERT INTO category_budgets (category_id, month, limit_amount) VALUES (?, ?, ?)";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
+    public boolean setBudget(int categoryId, String month, long limitAmount) {
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
             }
             
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_BUDGET_SQL)) {
                 pstmt.setInt(1, categoryId);
                 pstmt.setString(2, month);
-                pstmt.setDouble(3, limitAmount);
+                pstmt.setLong(3, limitAmount);
                 
                 int result = pstmt.executeUpdate();
+                QueryCache.getInstance().invalidate(QueryCache.CATEGORY_BUDGETS);
                 return result > 0;
             }
         } catch (SQLException e) {
-            System.err.println("Error inserting budget: " + e.getMessage());
+            System.err.println("Error setting budget: " + e.getMessage());
             return false;
         }
     }
     
     /**
-     * Update an existing budget
+     * Add or update the budgets of many categories for one month in a single transaction.
+     * All-or-nothing: on failure nothing is saved.
+     * @param limits category_id -> limit in minor units (see Money)
      */
-    private boolean updateBudget(int categoryId, String month, double limitAmount) {
-        String sql = "UPDATE category_budgets SET limit_amount = ? WHERE category_id = ? AND month = ?";
+    public boolean setBudgets(String month, Map<Integer, Long> limits) {
+        if (limits.isEmpty()) {
+            return true;
+        }
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
             }
-            
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setDouble(1, limitAmount);
-                pstmt.setInt(2, categoryId);
-                pstmt.setString(3, month);
-                
-                int result = pstmt.executeUpdate();
-                return result > 0;
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(UPSERT_BUDGET_SQL)) {
+                for (Map.Entry<Integer, Long> limit : limits.entrySet()) {
+                    pstmt.setInt(1, limit.getKey());
+                    pstmt.setString(2, month);
+                    pstmt.setLong(3, limit.getValue());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+                QueryCache.getInstance().invalidate(QueryCache.CATEGORY_BUDGETS);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            System.err.println("Error updating budget: " + e.getMessage());
+            System.err.println("Error saving budgets: " + e.getMessage());
             return false;
         }
     }
@@ -248,8 +218,7 @@ public class CategoryBudgetDAO {
     public boolean deleteBudget(int categoryId, String month) {
         String sql = "DELETE FROM category_budgets WHERE category_id = ? AND month = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -260,6 +229,7 @@ public class CategoryBudgetDAO {
                 pstmt.setString(2, month);
                 
                 int result = pstmt.executeUpdate();
+                QueryCache.getInstance().invalidate(QueryCache.CATEGORY_BUDGETS);
                 return result > 0;
             }
         } catch (SQLException e) {
@@ -274,8 +244,7 @@ public class CategoryBudgetDAO {
     public boolean deleteBudgetsByCategory(int categoryId) {
         String sql = "DELETE FROM category_budgets WHERE category_id = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -285,6 +254,7 @@ public class CategoryBudgetDAO {
                 pstmt.setInt(1, categoryId);
                 
                 int result = pstmt.executeUpdate();
+                QueryCache.getInstance().invalidate(QueryCache.CATEGORY_BUDGETS);
                 return result > 0;
             }
         } catch (SQLException e) {
@@ -313,4 +283,16 @@ public class CategoryBudgetDAO {
     public static String getNextMonth() {
         return YearMonth.now().plusMonths(1).toString();
     }
+    
+    private static BudgetCategory mapBudget(ResultSet rs) throws SQLException {
+        BudgetCategory budget = new BudgetCategory(
+            rs.getInt("id"),
+            rs.getInt("category_id"),
+            rs.getString("name"),
+            rs.getString("month"),
+            0
+        );
+        budget.setLimitMinor(rs.getLong("limit_amount"));
+        return budget;
+    }
 }
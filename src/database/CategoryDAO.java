@@ -1,5 +1,6 @@
 package database;
 
+import models.Category;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -7,107 +8,40 @@ import java.util.List;
 public class CategoryDAO {
     
     public List<String> getCategoriesByType(String type) {
-        List<String> categories = new ArrayList<>();
-        String sql = "SELECT name FROM categories WHERE type = ? ORDER BY name";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return categories;
-            }
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, type);
-                ResultSet rs = pstmt.executeQuery();
-                
-                while (rs.next()) {
-                    categories.add(rs.getString("name"));
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error retrieving categories: " + e.getMessage());
-        }
-        
-        return categories;
+        return names(CategoryRegistry.getInstance().getByType(type));
     }
     
     public List<String> getAllCategories() {
-        List<String> categories = new ArrayList<>();
-        String sql = "SELECT DISTINCT name FROM categories ORDER BY name";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return categories;
-            }
-            try (Statement stmt = conn.createStatement()) {
-                ResultSet rs = stmt.executeQuery(sql);
-                
-                while (rs.next()) {
-                    categories.add(rs.getString("name"));
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error retrieving all categories: " + e.getMessage());
-        }
-        
-        return categories;
+        return names(CategoryRegistry.getInstance().getAll());
     }
     
+    /**
+     * @return The id for a category name, or -1 if there is none
+     */
     public int getCategoryId(String categoryName) {
-        String sql = "SELECT id FROM categories WHERE name = ?";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return -1;
-            }
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, categoryName);
-                ResultSet rs = pstmt.executeQuery();
-                
-                if (rs.next()) {
-                    return rs.getInt("id");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting category ID: " + e.getMessage());
-        }
-        
-        return -1;
+        return CategoryRegistry.getInstance().getId(categoryName);
     }
     
+    /**
+     * @return "Income" or "Expense", or null if there is no such category
+     */
     public String getCategoryType(String categoryName) {
-        String sql = "SELECT type FROM categories WHERE name = ?";
-        
-        try {
-            Connection conn = DBConnection.getConnection();
-            if (conn == null) {
-                System.err.println("Database connection failed");
-                return null;
-            }
-            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                pstmt.setString(1, categoryName);
-                ResultSet rs = pstmt.executeQuery();
-                
-                if (rs.next()) {
-                    return rs.getString("type");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting category type: " + e.getMessage());
+        Category category = CategoryRegistry.getInstance().getByName(categoryName);
+        return category != null ? category.getType() : null;
+    }
+    
+    private static List<String> names(List<Category> categories) {
+        List<String> names = new ArrayList<>(categories.size());
+        for (Category category : categories) {
+            names.add(category.getName());
         }
-        
-        return null;
+        return names;
     }
     
     public boolean addCategory(String name, String type, String color) {
         String sql = "INSERT INTO categories (name, type, color) VALUES (?, ?, ?)";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -118,6 +52,7 @@ public class CategoryDAO {
                 pstmt.setString(3, color != null ? color : "#00C897");
                 
                 int result = pstmt.executeUpdate();
+                CategoryRegistry.getInstance().invalidate();
                 return result > 0;
             }
         } catch (SQLException e) {
@@ -129,8 +64,7 @@ public class CategoryDAO {
     public boolean deleteCategory(String categoryName) {
         String sql = "DELETE FROM categories WHERE name = ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return false;
@@ -152,6 +86,8 @@ public class CategoryDAO {
                 pstmt.setString(1, categoryName);
                 
                 int result = pstmt.executeUpdate();
+                CategoryRegistry.getInstance().invalidate();
+                QueryCache.getInstance().invalidate(QueryCache.CATEGORY_BUDGETS);
                 return result > 0;
             }
         } catch (SQLException e) {
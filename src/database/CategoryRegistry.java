@@ -0,0 +1,148 @@
+package database;
+
+import models.Category;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory dictionary of the categories table: id to name and back, with type and color.
+ * WHY: Categories are a few dozen rows that change rarely, yet budget screens looked up
+ * an id per row (1 + N queries). The whole table is loaded in one query and shared.
+ *
+ * CategoryDAO's writes call invalidate(), and the next lookup reloads; readers always
+ * see one consistent snapshot. Lookups are thread-safe and never block on each other.
+ */
+public final class CategoryRegistry {
+    private static final CategoryRegistry INSTANCE = new CategoryRegistry();
+    
+    private volatile Snapshot snapshot;
+    
+    private static final class Snapshot {
+        final Map<Integer, Category> byId = new HashMap<>();
+        final Map<String, Category> byName = new HashMap<>();
+        // Sorted by name, like the combo boxes show them
+        final Map<String, List<Category>> byType = new HashMap<>();
+        final List<Category> all;
+        
+        Snapshot(List<Category> categories) {
+            Map<String, List<Category>> grouped = new HashMap<>();
+            for (Category category : categories) {
+                byId.put(category.getId(), category);
+                byName.put(category.getName(), category);
+                grouped.computeIfAbsent(category.getType(), type -> new ArrayList<>()).add(category);
+            }
+            grouped.forEach((type, list) -> byType.put(type, Collections.unmodifiableList(list)));
+            all = Collections.unmodifiableList(categories);
+        }
+    }
+    
+    private CategoryRegistry() {
+    }
+    
+    public static CategoryRegistry getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * @return The category with this name, or null if there is none
+     */
+    public Category getByName(String name) {
+        return current().byName.get(name);
+    }
+    
+    /**
+     * @return The category with this id, or null if there is none
+     */
+    public Category getById(int id) {
+        return current().byId.get(id);
+    }
+    
+    /**
+     * @return The id for a category name, or -1 if there is none
+     */
+    public int getId(String name) {
+        Category category = getByName(name);
+        return category != null ? category.getId() : -1;
+    }
+    
+    /**
+     * @return The name for a category id, or null if there is none
+     */
+    public String getName(int id) {
+        Category category = getById(id);
+        return category != null ? category.getName() : null;
+    }
+    
+    /**
+     * Categories of one type ("Income" or "Expense"), sorted by name. Read-only.
+     */
+    public List<Category> getByType(String type) {
+        return current().byType.getOrDefault(type, Collections.emptyList());
+    }
+    
+    /**
+     * Every category, sorted by name. Read-only.
+     */
+    public List<Category> getAll() {
+        return current().all;
+    }
+    
+    /**
+     * Drop the loaded table; the next lookup reloads it. Call after any write to categories.
+     * Waits for a load in progress, which may predate the write, so it cannot be kept.
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+    
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            loaded = snapshot;
+            if (loaded != null) {
+                return loaded;
+            }
+            List<Category> categories = load();
+            if (categories == null) {
+                // Not stored, so the next lookup tries again
+                return new Snapshot(new ArrayList<>());
+            }
+            snapshot = new Snapshot(categories);
+            return snapshot;
+        }
+    }
+    
+    /**
+     * @return Every category sorted by name, or null on error
+     */
+    private static List<Category> load() {
+        List<Category> categories = new ArrayList<>();
+        String sql = "SELECT id, name, type, color FROM categories ORDER BY name";
+        
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    categories.add(new Category(rs.getInt("id"), rs.getString("name"),
+                        rs.getString("type"), rs.getString("color")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading categories: " + e.getMessage());
+            return null;
+        }
+        
+        return categories;
+    }
+}
@@ -0,0 +1,225 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small pool of SQLite connections opened in WAL journal mode.
+ * WHY: SQLite allows a single writer but any number of concurrent readers in WAL mode,
+ * so reads from the dashboard or the AI summarizer never queue behind a write.
+ *
+ * Connections are handed out as leases. Closing a lease returns the physical
+ * connection to the pool; the database itself stays open until shutdown().
+ * prepareStatement on a lease is served from the connection's StatementCache.
+ */
+class ConnectionPool {
+    private static final long READER_WAIT_SECONDS = 10;
+    
+    private static final String[] CONNECTION_PRAGMAS = {
+        "PRAGMA synchronous = NORMAL",
+        "PRAGMA mmap_size = 268435456",     // 256 MB memory-mapped I/O
+        "PRAGMA cache_size = -16000",       // ~16 MB page cache per connection
+        "PRAGMA temp_store = MEMORY",
+        "PRAGMA busy_timeout = 5000"
+    };
+    
+    private final Connection writer;
+    private final ReentrantLock writerLock = new ReentrantLock(true);
+    private final BlockingQueue<Connection> idleReaders;
+    private final List<Connection> allReaders = new ArrayList<>();
+    private final Map<Connection, StatementCache> statementCaches = new IdentityHashMap<>();
+    private volatile boolean closed = false;
+    
+    ConnectionPool(String url, int readerCount) throws SQLException {
+        this.writer = DriverManager.getConnection(url);
+        try (Statement stmt = writer.createStatement()) {
+            // journal_mode is persistent in the database file; set it once on the writer
+            stmt.execute("PRAGMA journal_mode = WAL");
+        }
+        applyPragmas(writer);
+        statementCaches.put(writer, new StatementCache(writer));
+        
+        this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readerCount));
+        try {
+            for (int i = 0; i < readerCount; i++) {
+                Connection reader = DriverManager.getConnection(url);
+                applyPragmas(reader);
+                try (Statement stmt = reader.createStatement()) {
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+                statementCaches.put(reader, new StatementCache(reader));
+                allReaders.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            shutdown();
+            throw e;
+        }
+    }
+    
+    private static void applyPragmas(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : CONNECTION_PRAGMAS) {
+                stmt.execute(pragma);
+            }
+        }
+    }
+    
+    /**
+     * Physical writer connection, for one-time setup work that runs before any lease is handed out.
+     */
+    Connection writerForSetup() {
+        return writer;
+    }
+    
+    /**
+     * Lease the single writer connection. Re-entrant for the owning thread, so a DAO
+     * method may call another DAO method while it holds the lease.
+     */
+    Connection leaseWriter() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        writerLock.lock();
+        return lease(writer, () -> {
+            try {
+                // Only the outermost lease resets state left behind by the caller
+                if (writerLock.getHoldCount() == 1 && !writer.isClosed() && !writer.getAutoCommit()) {
+                    System.err.println("Writer lease returned with an open transaction; rolling back");
+                    writer.rollback();
+                    writer.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                System.err.println("Error resetting writer connection: " + e.getMessage());
+            } finally {
+                writerLock.unlock();
+            }
+        });
+    }
+    
+    /**
+     * Lease one of the read-only connections, waiting briefly if all are busy.
+     */
+    Connection leaseReader() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        Connection reader;
+        try {
+            reader = idleReaders.poll(READER_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection");
+        }
+        if (reader == null) {
+            throw new SQLException("Timed out waiting for a read connection");
+        }
+        final Connection leased = reader;
+        return lease(leased, () -> {
+            if (!closed) {
+                idleReaders.offer(leased);
+            }
+        });
+    }
+    
+    void shutdown() {
+        closed = true;
+        for (StatementCache cache : statementCaches.values()) {
+            cache.close();
+        }
+        for (Connection reader : allReaders) {
+            closeQuietly(reader);
+        }
+        allReaders.clear();
+        idleReaders.clear();
+        writerLock.lock();
+        try {
+            closeQuietly(writer);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+    
+    private static void closeQuietly(Connection conn) {
+        try {
+            if (conn != null && !conn.isClosed()) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error closing connection: " + e.getMessage());
+        }
+    }
+    
+    private Connection lease(Connection physical, Runnable release) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            new LeaseHandler(physical, statementCaches.get(physical), release));
+    }
+    
+    /**
+     * Forwards every call to the physical connection except close(), which hands it back,
+     * and the prepareStatement(sql) overloads, which go through the statement cache.
+     */
+    private static class LeaseHandler implements InvocationHandler {
+        private final Connection physical;
+        private final StatementCache statements;
+        private final Runnable release;
+        private boolean released = false;
+        
+        LeaseHandler(Connection physical, StatementCache statements, Runnable release) {
+            this.physical = physical;
+            this.statements = statements;
+            this.release = release;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release.run();
+                    }
+                    return null;
+                case "isClosed":
+                    return released || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Connection lease has already been returned to the pool");
+            }
+            if (method.getName().equals("prepareStatement")) {
+                if (args.length == 1) {
+                    return statements.prepare((String) args[0], null);
+                }
+                if (args.length == 2 && method.getParameterTypes()[1] == int.class) {
+                    return statements.prepare((String) args[0], (Integer) args[1]);
+                }
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,222 +1,108 @@
 package database;
 
+import events.TransactionEventManager;
 import java.sql.*;
 
 public class DBConnection {
-    private static final String DB_URL = "jdbc:sqlite:finance.db";
-    private static Connection connection = null;
+    // Database file; override with -Dpfa.db.path=... (benchmarks, tools)
+    public static final String DB_PATH_PROPERTY = "pfa.db.path";
+    private static final String DEFAULT_DB_PATH = "finance.db";
+    private static final int READER_CONNECTIONS = 4;
+    private static volatile ConnectionPool pool = null;
     
+    /**
+     * Lease the writer connection.
+     * Close it (try-with-resources) to return it to the pool; the database stays open.
+     */
     public static Connection getConnection() {
+        ConnectionPool current = getPool();
+        if (current == null) {
+            return null;
+        }
         try {
-            if (connection == null || connection.isClosed()) {
-                try {
-                    Class.forName("org.sqlite.JDBC");
-                } catch (ClassNotFoundException e) {
-                    System.err.println("SQLite JDBC driver not found: " + e.getMessage());
-                    System.err.println("Make sure sqlite-jdbc JAR is in the classpath");
-                    return null;
-                }
-                connection = DriverManager.getConnection(DB_URL);
-                if (connection != null) {
-                    createTables();
-                }
-            }
-            return connection;
+            return current.leaseWriter();
         } catch (SQLException e) {
             System.err.println("Database connection error: " + e.getMessage());
-            e.printStackTrace();
             return null;
         }
     }
     
-    private static void createTables() {
-        try (Statement stmt = connection.createStatement()) {
-            // Create transactions table
-            String createTransactionsTable = """
-                CREATE TABLE IF NOT EXISTS transactions (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    type TEXT NOT NULL,
-                    category TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    date TEXT NOT NULL,
-                    notes TEXT,
-                    source TEXT NOT NULL DEFAULT 'manual'
-                )
-                """;
-            stmt.execute(createTransactionsTable);
-            
-            // Create budget table
-            String createBudgetTable = """
-                CREATE TABLE IF NOT EXISTS budget (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    monthly_income REAL NOT NULL,
-                    limit_amount REAL NOT NULL
-                )
-                """;
-            stmt.execute(createBudgetTable);
-            
-            // Create categories table
-            String createCategoriesTable = """
-                CREATE TABLE IF NOT EXISTS categories (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT UNIQUE NOT NULL,
-                    type TEXT NOT NULL,
-                    color TEXT DEFAULT '#00C897'
-                )
-                """;
-            stmt.execute(createCategoriesTable);
-            
-            // Create category budgets table
-            String createCategoryBudgetsTable = """
-                CREATE TABLE IF NOT EXISTS category_budgets (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    category_id INTEGER NOT NULL,
-                    month TEXT NOT NULL,
-                    limit_amount REAL NOT NULL,
-                    FOREIGN KEY(category_id) REFERENCES categories(id) ON DELETE CASCADE,
-                    UNIQUE(category_id, month)
-                )
-                """;
-            stmt.execute(createCategoryBudgetsTable);
-            
-            // Create investments table
-            String createInvestmentsTable = """
-                CREATE TABLE IF NOT EXISTS investments (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    name TEXT NOT NULL,
-                    category TEXT NOT NULL,
-                    amount REAL NOT NULL,
-                    start_date TEXT NOT NULL,
-                    frequency TEXT NOT NULL,
-                    day_of_month INTEGER,
-                    maturity_date TEXT,
-                    interest_rate REAL
-                )
-                """;
-            stmt.execute(createInvestmentsTable);
-            
-            // Create settings table
-            String createSettingsTable = """
-                CREATE TABLE IF NOT EXISTS app_settings (
-                    id INTEGER PRIMARY KEY AUTOINCREMENT,
-                    key TEXT UNIQUE NOT NULL,
-                    value TEXT NOT NULL
-                )
-                """;
-            stmt.execute(createSettingsTable);
-            
-            // Run migrations
-            runMigrations();
-            
-            // Insert sample data if tables are empty
-            insertSampleData();
-            
+    /**
+     * Lease a read-only connection. Reads never wait for the writer in WAL mode.
+     * Close it (try-with-resources) to return it to the pool.
+     */
+    public static Connection getReadConnection() {
+        ConnectionPool current = getPool();
+        if (current == null) {
+            return null;
+        }
+        try {
+            return current.leaseReader();
         } catch (SQLException e) {
-            System.err.println("Error creating tables: " + e.getMessage());
+            System.err.println("Database connection error: " + e.getMessage());
+            return null;
         }
     }
     
-    private static void runMigrations() {
-        try (Statement stmt = connection.createStatement()) {
-            // Check if source column exists in transactions table
-            try {
-                stmt.executeQuery("SELECT source FROM transactions LIMIT 1");
-            } catch (SQLException e) {
-                // Column doesn't exist, add it
-                if (e.getMessage().contains("no such column")) {
-                    System.out.println("Migrating database: Adding source column to transactions table...");
-                    stmt.execute("ALTER TABLE transactions ADD COLUMN source TEXT NOT NULL DEFAULT 'manual'");
-                    System.out.println("Migration complete: source column added successfully.");
-                }
-            }
-            
-            // Check if maturity_date column exists in investments table
-            try {
-                stmt.executeQuery("SELECT maturity_date FROM investments LIMIT 1");
-            } catch (SQLException e) {
-                if (e.getMessage().contains("no such column")) {
-                    System.out.println("Migrating database: Adding maturity_date and interest_rate columns to investments table...");
-                    stmt.execute("ALTER TABLE investments ADD COLUMN maturity_date TEXT");
-                    stmt.execute("ALTER TABLE investments ADD COLUMN interest_rate REAL");
-                    System.out.println("Migration complete: new investment columns added successfully.");
-                }
-            }
-            
-            // Check if status column exists in investments table
-            try {
-                stmt.executeQuery("SELECT status FROM investments LIMIT 1");
-            } catch (SQLException e) {
-                if (e.getMessage().contains("no such column")) {
-                    System.out.println("Migrating database: Adding status column to investments table...");
-                    stmt.execute("ALTER TABLE investments ADD COLUMN status TEXT DEFAULT 'Active'");
-                    System.out.println("Migration complete: status column added successfully.");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error running migrations: " + e.getMessage());
+    private static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
         }
+        return openPool();
     }
     
-    private static void insertSampleData() {
-        try (Statement stmt = connection.createStatement()) {
-            // Check if transactions table is empty
-            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM transactions");
-            if (rs.next() && rs.getInt(1) == 0) {
-                // Insert sample transactions
-                String[] sampleTransactions = {
-                    "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Food', 45.50, '2024-10-15', 'Grocery shopping')",
-                    "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Income', 'Salary', 3000.00, '2024-10-01', 'Monthly salary')",
-                    "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Entertainment', 25.00, '2024-10-18', 'Movie tickets')",
-                    "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Transport', 15.75, '2024-10-20', 'Bus fare')",
-                    "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Income', 'Freelance', 500.00, '2024-10-12', 'Web design project')"
-                };
-                
-                for (String sql : sampleTransactions) {
-                    stmt.execute(sql);
-                }
-            }
-            
-            // Check if budget table is empty
-            rs = stmt.executeQuery("SELECT COUNT(*) FROM budget");
-            if (rs.next() && rs.getInt(1) == 0) {
-                // Insert default budget
-                stmt.execute("INSERT INTO budget (monthly_income, limit_amount) VALUES (3500.00, 2000.00)");
-            }
-            
-            // Initialize default categories
-            rs = stmt.executeQuery("SELECT COUNT(*) FROM categories");
-            if (rs.next() && rs.getInt(1) == 0) {
-                String[] expenseCategories = {"Food", "Transport", "Entertainment", "Shopping", "Bills", "Healthcare", "Education", "Utilities", "Other"};
-                String[] incomeCategories = {"Salary", "Freelance", "Investment", "Bonus", "Other"};
-                
-                for (String cat : expenseCategories) {
-                    stmt.execute("INSERT OR IGNORE INTO categories (name, type, color) VALUES ('" + cat + "', 'Expense', '#00C897')");
-                }
-                for (String cat : incomeCategories) {
-                    stmt.execute("INSERT OR IGNORE INTO categories (name, type, color) VALUES ('" + cat + "', 'Income', '#00C897')");
-                }
-            }
-            
-            // Initialize default settings
-            rs = stmt.executeQuery("SELECT COUNT(*) FROM app_settings");
-            if (rs.next() && rs.getInt(1) == 0) {
-                stmt.execute("INSERT INTO app_settings (key, value) VALUES ('theme', 'Dark')");
-                stmt.execute("INSERT INTO app_settings (key, value) VALUES ('currency', 'INR')");
-                stmt.execute("INSERT INTO app_settings (key, value) VALUES ('user_name', 'User')");
+    private static synchronized ConnectionPool openPool() {
+        if (pool != null) {
+            return pool;
+        }
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            System.err.println("SQLite JDBC driver not found: " + e.getMessage());
+            System.err.println("Make sure sqlite-jdbc JAR is in the classpath");
+            return null;
+        }
+        try {
+            String url = "jdbc:sqlite:" + System.getProperty(DB_PATH_PROPERTY, DEFAULT_DB_PATH);
+            ConnectionPool created = new ConnectionPool(url, READER_CONNECTIONS);
+            // Schema setup runs once per process, not on every lease
+            try {
+                SchemaMigrator.migrate(created.writerForSetup());
+            } catch (SQLException e) {
+                // Fail closed: a half-migrated schema (e.g. amounts not yet in minor units)
+                // must never be read or written; the next lease tries the migration again
+                System.err.println("Error migrating database schema: " + e.getMessage());
+                created.shutdown();
+                return null;
             }
-            
+            pool = created;
+            return pool;
         } catch (SQLException e) {
-            System.err.println("Error inserting sample data: " + e.getMessage());
+            System.err.println("Database connection error: " + e.getMessage());
+            e.printStackTrace();
+            return null;
         }
     }
     
+    /**
+     * Close every pooled connection and invalidate every cache and in-memory ledger view.
+     * Call on application exit, or before pointing pfa.db.path at another database;
+     * the next lease reopens the pool.
+     */
     public static void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+        synchronized (DBConnection.class) {
+            if (pool == null) {
+                return;
             }
-        } catch (SQLException e) {
-            System.err.println("Error closing connection: " + e.getMessage());
+            pool.shutdown();
+            pool = null;
+            // Cached reads describe the database just closed
+            QueryCache.getInstance().invalidateAll();
+            CategoryRegistry.getInstance().invalidate();
         }
+        // So do the in-memory ledgers. Outside the lock: they lock themselves, and may
+        // hold that lock while leasing a connection
+        TransactionEventManager.getInstance().notifyDatabaseClosed();
     }
 }
\ No newline at end of file
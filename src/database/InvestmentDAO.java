@@ -13,43 +13,44 @@ public class InvestmentDAO {
      * Note: SIPs are not given automatic transactions - use processRecurringSIPs() to generate them.
      */
     public boolean addInvestment(Investment investment) {
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return false;
-        }
+        String sql = "INSERT INTO investments (name, category, amount, start_date, frequency, day_of_month, maturity_date, interest_rate, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try {
-            String sql = "INSERT INTO investments (name, category, amount, start_date, frequency, day_of_month, maturity_date, interest_rate, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, investment.getName());
-            pstmt.setString(2, investment.getCategory());
-            pstmt.setDouble(3, investment.getAmount());
-            pstmt.setString(4, investment.getStartDate());
-            pstmt.setString(5, investment.getFrequency());
-            
-            if (investment.getDayOfMonth() != null) {
-                pstmt.setInt(6, investment.getDayOfMonth());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-            
-            if (investment.getMaturityDate() != null && !investment.getMaturityDate().isEmpty()) {
-                pstmt.setString(7, investment.getMaturityDate());
-            } else {
-                pstmt.setNull(7, Types.VARCHAR);
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
             }
             
-            if (investment.getInterestRate() != null) {
-                pstmt.setDouble(8, investment.getInterestRate());
-            } else {
-                pstmt.setNull(8, Types.REAL);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, investment.getName());
+                pstmt.setString(2, investment.getCategory());
+                pstmt.setLong(3, investment.getAmountMinor());
+                pstmt.setString(4, investment.getStartDate());
+                pstmt.setString(5, investment.getFrequency());
+                
+                if (investment.getDayOfMonth() != null) {
+                    pstmt.setInt(6, investment.getDayOfMonth());
+                } else {
+                    pstmt.setNull(6, Types.INTEGER);
+                }
+                
+                if (investment.getMaturityDate() != null && !investment.getMaturityDate().isEmpty()) {
+                    pstmt.setString(7, investment.getMaturityDate());
+                } else {
+                    pstmt.setNull(7, Types.VARCHAR);
+                }
+                
+                if (investment.getInterestRate() != null) {
+                    pstmt.setDouble(8, investment.getInterestRate());
+                } else {
+                    pstmt.setNull(8, Types.REAL);
+                }
+                
+                pstmt.setString(9, "Active");
+                
+                pstmt.executeUpdate();
             }
-            
-            pstmt.setString(9, "Active");
-            
-            pstmt.executeUpdate();
-            pstmt.close();
+            QueryCache.getInstance().invalidate(QueryCache.INVESTMENTS);
             
             return true;
         } catch (SQLException e) {
@@ -63,42 +64,51 @@ public class InvestmentDAO {
      * Retrieves all investments ordered by start_date in descending order.
      */
     public List<Investment> getAllInvestments() {
+        List<Investment> investments = QueryCache.getInstance().get("getAllInvestments",
+            this::loadAllInvestments, QueryCache.INVESTMENTS);
+        return investments != null ? new ArrayList<>(investments) : new ArrayList<>();
+    }
+    
+    /**
+     * @return The investments, or null on error so the failure is not cached
+     */
+    private List<Investment> loadAllInvestments() {
         List<Investment> investments = new ArrayList<>();
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return investments;
-        }
+        String sql = "SELECT id, name, category, amount, start_date, frequency, day_of_month, maturity_date, interest_rate, status FROM investments ORDER BY start_date DESC";
         
-        try {
-            String sql = "SELECT id, name, category, amount, start_date, frequency, day_of_month, maturity_date, interest_rate, status FROM investments ORDER BY start_date DESC";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
             
-            while (rs.next()) {
-                int id = rs.getInt("id");
-                String name = rs.getString("name");
-                String category = rs.getString("category");
-                double amount = rs.getDouble("amount");
-                String startDate = rs.getString("start_date");
-                String frequency = rs.getString("frequency");
-                Integer dayOfMonth = rs.getObject("day_of_month") != null ? rs.getInt("day_of_month") : null;
-                String maturityDate = rs.getString("maturity_date");
-                Double interestRate = rs.getObject("interest_rate") != null ? rs.getDouble("interest_rate") : null;
-                String status = rs.getString("status");
-                if (status == null || status.isEmpty()) {
-                    status = "Active";
-                }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
                 
-                Investment investment = new Investment(id, name, category, amount, startDate, frequency, dayOfMonth, maturityDate, interestRate, status);
-                investments.add(investment);
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    String name = rs.getString("name");
+                    String category = rs.getString("category");
+                    long amountMinor = rs.getLong("amount");
+                    String startDate = rs.getString("start_date");
+                    String frequency = rs.getString("frequency");
+                    Integer dayOfMonth = rs.getObject("day_of_month") != null ? rs.getInt("day_of_month") : null;
+                    String maturityDate = rs.getString("maturity_date");
+                    Double interestRate = rs.getObject("interest_rate") != null ? rs.getDouble("interest_rate") : null;
+                    String status = rs.getString("status");
+                    if (status == null || status.isEmpty()) {
+                        status = "Active";
+                    }
+                    
+                    Investment investment = new Investment(id, name, category, 0, startDate, frequency, dayOfMonth, maturityDate, interestRate, status);
+                    investment.setAmountMinor(amountMinor);
+                    investments.add(investment);
+                }
             }
-            
-            rs.close();
-            stmt.close();
         } catch (SQLException e) {
             System.err.println("Error retrieving investments: " + e.getMessage());
             e.printStackTrace();
+            return null;
         }
         
         return investments;
@@ -108,18 +118,19 @@ public class InvestmentDAO {
      * Deletes an investment by id.
      */
     public boolean deleteInvestment(int investmentId) {
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return false;
-        }
+        String sql = "DELETE FROM investments WHERE id = ?";
         
-        try {
-            String sql = "DELETE FROM investments WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setInt(1, investmentId);
-            pstmt.executeUpdate();
-            pstmt.close();
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, investmentId);
+                pstmt.executeUpdate();
+            }
+            QueryCache.getInstance().invalidate(QueryCache.INVESTMENTS);
             return true;
         } catch (SQLException e) {
             System.err.println("Error deleting investment: " + e.getMessage());
@@ -132,19 +143,20 @@ public class InvestmentDAO {
      * Updates investment status (e.g., "Active", "Matured").
      */
     public boolean updateInvestmentStatus(int investmentId, String status) {
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return false;
-        }
+        String sql = "UPDATE investments SET status = ? WHERE id = ?";
         
-        try {
-            String sql = "UPDATE investments SET status = ? WHERE id = ?";
-            PreparedStatement pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, status);
-            pstmt.setInt(2, investmentId);
-            pstmt.executeUpdate();
-            pstmt.close();
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, status);
+                pstmt.setInt(2, investmentId);
+                pstmt.executeUpdate();
+            }
+            QueryCache.getInstance().invalidate(QueryCache.INVESTMENTS);
             return true;
         } catch (SQLException e) {
             System.err.println("Error updating investment status: " + e.getMessage());
@@ -152,4 +164,4 @@ public class InvestmentDAO {
             return false;
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package database;
+
+import events.TransactionEventManager;
+import events.TransactionListener;
+import models.Transaction;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Shared, size-bounded LRU cache of DAO query results, keyed on method plus arguments.
+ * WHY: Panels and the summarizer re-run the same small queries (categories, budget,
+ * investments, totals) on every refresh; between writes the answer cannot change.
+ *
+ * Each entry is tagged with the tables it reads. DAO write paths invalidate the tables
+ * they touch, and transaction events invalidate transactions as a backstop for writes
+ * made outside the DAOs. A result loaded while one of its tables was being written is
+ * returned but not stored, so a slow read can never re-cache stale data.
+ *
+ * Cached values are shared: callers must treat them as read-only, and DAOs hand out
+ * copies of mutable collections.
+ */
+public final class QueryCache {
+    // Table tags
+    public static final String TRANSACTIONS = "transactions";
+    public static final String CATEGORIES = "categories";
+    public static final String BUDGET = "budget";
+    public static final String CATEGORY_BUDGETS = "category_budgets";
+    public static final String INVESTMENTS = "investments";
+    public static final String APP_SETTINGS = "app_settings";
+    
+    private static final int MAX_ENTRIES = 256;
+    
+    private static QueryCache instance;
+    
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // Bumped on every invalidation; a load that saw a different value is not stored
+    private long generation = 0;
+    
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long invalidations = 0;
+    
+    private static final class Entry {
+        final Object value;
+        final Set<String> tables;
+        
+        Entry(Object value, Set<String> tables) {
+            this.value = value;
+            this.tables = tables;
+        }
+    }
+    
+    private QueryCache() {
+    }
+    
+    public static synchronized QueryCache getInstance() {
+        if (instance == null) {
+            instance = new QueryCache();
+            TransactionEventManager.getInstance().subscribeSynchronous(new TransactionListener() {
+                @Override
+                public void onTransactionAdded(Transaction transaction) {
+                    instance.invalidate(TRANSACTIONS);
+                }
+                
+                @Override
+                public void onTransactionDeleted(int transactionId) {
+                    instance.invalidate(TRANSACTIONS);
+                }
+                
+                @Override
+                public void onTransactionUpdated(Transaction transaction) {
+                    instance.invalidate(TRANSACTIONS);
+                }
+                
+                @Override
+                public void onTransactionsRefreshed() {
+                    // Bulk changes (imports, resets) may touch more than transactions
+                    instance.invalidateAll();
+                }
+            });
+        }
+        return instance;
+    }
+    
+    /**
+     * Cached result for key, or the loader's result (cached unless null).
+     * The loader runs outside the cache lock, so concurrent misses may both query.
+     * @param key Method name plus arguments, e.g. "getCategoriesByType:Expense"
+     * @param tables Tables the query reads; writes to any of them drop the entry
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader, String... tables) {
+        long seen;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits++;
+                return (T) entry.value;
+            }
+            misses++;
+            seen = generation;
+        }
+        
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (generation == seen) {
+                entries.put(key, new Entry(value, Set.of(tables)));
+                if (entries.size() > MAX_ENTRIES) {
+                    Iterator<String> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions++;
+                }
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Drop every entry that reads any of the given tables. Call after the write commits.
+     */
+    public synchronized void invalidate(String... tables) {
+        generation++;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            for (String table : tables) {
+                if (entry.tables.contains(table)) {
+                    it.remove();
+                    invalidations++;
+                    break;
+                }
+            }
+        }
+    }
+    
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+    
+    // Statistics
+    public synchronized long getHitCount() { return hits; }
+    public synchronized long getMissCount() { return misses; }
+    public synchronized long getEvictionCount() { return evictions; }
+    public synchronized long getInvalidationCount() { return invalidations; }
+    public synchronized int size() { return entries.size(); }
+    
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : hits / (double) lookups;
+    }
+    
+    /**
+     * One-line summary of the statistics, for logs and diagnostics.
+     */
+    public synchronized String getStats() {
+        return String.format("QueryCache: %d entries, %d hits, %d misses (%.1f%% hit rate), %d evicted, %d invalidated",
+            entries.size(), hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+}
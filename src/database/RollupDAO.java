@@ -0,0 +1,109 @@
+package database;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the monthly_category_totals rollup maintained by triggers on transactions.
+ * WHY: Category breakdowns cost a few dozen rows regardless of how much history is kept
+ */
+public class RollupDAO {
+    
+    /**
+     * Totals per category for one transaction type, highest first, in minor units (see Money).
+     * @param type "Expense" or "Income"
+     * @param month Month in YYYY-MM format, or null for all time
+     */
+    public Map<String, Long> getTotalsByCategory(String type, String month) {
+        return getTotalsByCategory(type, month, month == null ? null : nextMonth(month));
+    }
+    
+    /**
+     * Totals per category for months in [fromMonth, toMonth), highest first, in minor units.
+     * Either bound may be null to leave that side open.
+     */
+    public Map<String, Long> getTotalsByCategory(String type, String fromMonth, String toMonth) {
+        Map<String, Long> totals = QueryCache.getInstance().get(
+            "getTotalsByCategory:" + type + ":" + fromMonth + ":" + toMonth,
+            () -> loadTotalsByCategory(type, fromMonth, toMonth), QueryCache.TRANSACTIONS);
+        return totals != null ? new LinkedHashMap<>(totals) : new LinkedHashMap<>();
+    }
+    
+    /**
+     * @return The totals, or null on error so the failure is not cached
+     */
+    private Map<String, Long> loadTotalsByCategory(String type, String fromMonth, String toMonth) {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(
+            "SELECT category, SUM(total) AS total FROM monthly_category_totals WHERE type = ?");
+        if (fromMonth != null) {
+            sql.append(" AND month >= ?");
+        }
+        if (toMonth != null) {
+            sql.append(" AND month < ?");
+        }
+        sql.append(" GROUP BY category ORDER BY total DESC");
+        
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                int index = 1;
+                pstmt.setString(index++, type);
+                if (fromMonth != null) {
+                    pstmt.setString(index++, fromMonth);
+                }
+                if (toMonth != null) {
+                    pstmt.setString(index, toMonth);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        totals.put(rs.getString("category"), rs.getLong("total"));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading category totals: " + e.getMessage());
+            return null;
+        }
+        
+        return totals;
+    }
+    
+    /**
+     * Rollup rows for months in [fromMonth, toMonth), one per month, type and category.
+     * @return Number of rows visited, or -1 if the query failed
+     */
+    public int forEachMonthlyTotal(String fromMonth, String toMonth, TransactionDAO.PeriodTotalVisitor visitor) {
+        String sql = "SELECT month, type, category, total FROM monthly_category_totals WHERE month >= ? AND month < ?";
+        int count = 0;
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, fromMonth);
+                pstmt.setString(2, toMonth);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.visit(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4));
+                        count++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error reading monthly totals: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
+    
+    private static String nextMonth(String month) {
+        return YearMonth.parse(month).plusMonths(1).toString();
+    }
+}
@@ -0,0 +1,417 @@
+package database;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned schema migrations, applied once at startup.
+ * WHY: The applied version lives in schema_version, so a normal start costs a single
+ * primary-key read instead of probing every column and counting every table.
+ *
+ * To change the schema, append a new Migration to MIGRATIONS with the next version
+ * number. Never edit or reorder a migration that has already shipped.
+ */
+class SchemaMigrator {
+    
+    /**
+     * A single schema change. Runs inside the migrator's transaction.
+     */
+    interface MigrationStep {
+        void apply(Statement stmt) throws SQLException;
+    }
+    
+    private static class Migration {
+        final int version;
+        final String description;
+        final MigrationStep step;
+        
+        Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+    
+    private static final List<Migration> MIGRATIONS = new ArrayList<>();
+    
+    static {
+        MIGRATIONS.add(new Migration(1, "Create base tables", SchemaMigrator::createBaseTables));
+        MIGRATIONS.add(new Migration(2, "Add source column to transactions", stmt ->
+            addColumnIfMissing(stmt, "transactions", "source", "TEXT NOT NULL DEFAULT 'manual'")));
+        MIGRATIONS.add(new Migration(3, "Add maturity_date and interest_rate to investments", stmt -> {
+            addColumnIfMissing(stmt, "investments", "maturity_date", "TEXT");
+            addColumnIfMissing(stmt, "investments", "interest_rate", "REAL");
+        }));
+        MIGRATIONS.add(new Migration(4, "Add status to investments", stmt ->
+            addColumnIfMissing(stmt, "investments", "status", "TEXT DEFAULT 'Active'")));
+        MIGRATIONS.add(new Migration(5, "Seed default data", SchemaMigrator::seedDefaults));
+        MIGRATIONS.add(new Migration(6, "Index transactions by date, type, source and notes",
+            SchemaMigrator::createTransactionIndexes));
+        MIGRATIONS.add(new Migration(7, "Add monthly_category_totals rollup", SchemaMigrator::createMonthlyRollup));
+        MIGRATIONS.add(new Migration(8, "Store money as integer minor units", SchemaMigrator::storeMoneyAsMinorUnits));
+        MIGRATIONS.add(new Migration(9, "Add ai_response_cache", SchemaMigrator::createAiResponseCache));
+    }
+    
+    /**
+     * Bring the database up to the latest schema version.
+     * All pending migrations run in one transaction; on failure nothing is applied.
+     */
+    static void migrate(Connection conn) throws SQLException {
+        int latest = MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    applied_at TEXT NOT NULL DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+            
+            int current = 0;
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                if (rs.next()) {
+                    current = rs.getInt(1);
+                }
+            }
+            if (current >= latest) {
+                return;
+            }
+            
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement record = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                for (Migration migration : MIGRATIONS) {
+                    if (migration.version <= current) {
+                        continue;
+                    }
+                    System.out.println("Migrating database to v" + migration.version + ": " + migration.description);
+                    migration.step.apply(stmt);
+                    record.setInt(1, migration.version);
+                    record.setString(2, migration.description);
+                    record.executeUpdate();
+                }
+                conn.commit();
+                System.out.println("Database schema is at v" + latest);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+    
+    private static void createBaseTables(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS transactions (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                type TEXT NOT NULL,
+                category TEXT NOT NULL,
+                amount REAL NOT NULL,
+                date TEXT NOT NULL,
+                notes TEXT,
+                source TEXT NOT NULL DEFAULT 'manual'
+            )
+            """);
+        
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS budget (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                monthly_income REAL NOT NULL,
+                limit_amount REAL NOT NULL
+            )
+            """);
+        
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS categories (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT UNIQUE NOT NULL,
+                type TEXT NOT NULL,
+                color TEXT DEFAULT '#00C897'
+            )
+            """);
+        
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS category_budgets (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                category_id INTEGER NOT NULL,
+                month TEXT NOT NULL,
+                limit_amount REAL NOT NULL,
+                FOREIGN KEY(category_id) REFERENCES categories(id) ON DELETE CASCADE,
+                UNIQUE(category_id, month)
+            )
+            """);
+        
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS investments (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                category TEXT NOT NULL,
+                amount REAL NOT NULL,
+                start_date TEXT NOT NULL,
+                frequency TEXT NOT NULL,
+                day_of_month INTEGER,
+                maturity_date TEXT,
+                interest_rate REAL
+            )
+            """);
+        
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS app_settings (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                key TEXT UNIQUE NOT NULL,
+                value TEXT NOT NULL
+            )
+            """);
+    }
+    
+    private static void createTransactionIndexes(Statement stmt) throws SQLException {
+        // WHY: every transaction read filters or sorts on date; the leading column picks the filter
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions(date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_type_date ON transactions(type, date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_source_date ON transactions(source, date)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_transactions_notes_date ON transactions(notes, date)");
+    }
+    
+    /**
+     * Per-month, per-category sums kept current by triggers on transactions.
+     * WHY: Category reports read a few dozen rollup rows instead of the whole ledger,
+     * and triggers cover every write path, including imports and SIP processing.
+     */
+    private static void createMonthlyRollup(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS monthly_category_totals (
+                month TEXT NOT NULL,
+                category TEXT NOT NULL,
+                type TEXT NOT NULL,
+                total REAL NOT NULL DEFAULT 0,
+                count INTEGER NOT NULL DEFAULT 0,
+                PRIMARY KEY (month, category, type)
+            )
+            """);
+        
+        createRollupTriggers(stmt);
+        
+        // Backfill from the existing ledger
+        stmt.execute("DELETE FROM monthly_category_totals");
+        stmt.execute("""
+            INSERT INTO monthly_category_totals (month, category, type, total, count)
+            SELECT substr(date, 1, 7), category, type, SUM(amount), COUNT(*)
+            FROM transactions
+            GROUP BY substr(date, 1, 7), category, type
+            """);
+    }
+    
+    private static void createRollupTriggers(Statement stmt) throws SQLException {
+        String addNew = """
+                INSERT INTO monthly_category_totals (month, category, type, total, count)
+                VALUES (substr(NEW.date, 1, 7), NEW.category, NEW.type, NEW.amount, 1)
+                ON CONFLICT (month, category, type)
+                DO UPDATE SET total = total + excluded.total, count = count + 1;
+            """;
+        String removeOld = """
+                UPDATE monthly_category_totals
+                SET total = total - OLD.amount, count = count - 1
+                WHERE month = substr(OLD.date, 1, 7) AND category = OLD.category AND type = OLD.type;
+                DELETE FROM monthly_category_totals
+                WHERE month = substr(OLD.date, 1, 7) AND category = OLD.category AND type = OLD.type AND count <= 0;
+            """;
+        
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_insert AFTER INSERT ON transactions BEGIN\n"
+            + addNew + "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_delete AFTER DELETE ON transactions BEGIN\n"
+            + removeOld + "END");
+        stmt.execute("CREATE TRIGGER IF NOT EXISTS trg_transactions_rollup_update "
+            + "AFTER UPDATE OF type, category, amount, date ON transactions BEGIN\n"
+            + removeOld + addNew + "END");
+        
+    }
+    
+    /**
+     * Answers to AI questions, keyed by a hash of provider, model, question and context
+     * (see service.AIResponseCache).
+     */
+    private static void createAiResponseCache(Statement stmt) throws SQLException {
+        stmt.execute("""
+            CREATE TABLE IF NOT EXISTS ai_response_cache (
+                cache_key TEXT PRIMARY KEY,
+                context_hash TEXT NOT NULL,
+                provider TEXT NOT NULL,
+                model TEXT NOT NULL,
+                question TEXT NOT NULL,
+                response TEXT NOT NULL,
+                created_at INTEGER NOT NULL
+            )
+            """);
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_ai_response_cache_created ON ai_response_cache(created_at)");
+    }
+    
+    /**
+     * Rebuild every money column as INTEGER minor units (see models.Money).
+     * WHY: REAL sums drift and disagree with Java-side totals; integer SUMs are exact.
+     * SQLite cannot change a column's type, so each table is copied into a new one.
+     */
+    private static void storeMoneyAsMinorUnits(Statement stmt) throws SQLException {
+        rebuildTable(stmt, "transactions", """
+            CREATE TABLE transactions_new (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                type TEXT NOT NULL,
+                category TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                date TEXT NOT NULL,
+                notes TEXT,
+                source TEXT NOT NULL DEFAULT 'manual'
+            )
+            """,
+            "id, type, category, amount, date, notes, source",
+            "id, type, category, " + toMinor("amount") + ", date, notes, source");
+        // Dropping the old table dropped its indexes and triggers
+        createTransactionIndexes(stmt);
+        
+        stmt.execute("DROP TABLE monthly_category_totals");
+        stmt.execute("""
+            CREATE TABLE monthly_category_totals (
+                month TEXT NOT NULL,
+                category TEXT NOT NULL,
+                type TEXT NOT NULL,
+                total INTEGER NOT NULL DEFAULT 0,
+                count INTEGER NOT NULL DEFAULT 0,
+                PRIMARY KEY (month, category, type)
+            )
+            """);
+        createRollupTriggers(stmt);
+        stmt.execute("""
+            INSERT INTO monthly_category_totals (month, category, type, total, count)
+            SELECT substr(date, 1, 7), category, type, SUM(amount), COUNT(*)
+            FROM transactions
+            GROUP BY substr(date, 1, 7), category, type
+            """);
+        
+        rebuildTable(stmt, "investments", """
+            CREATE TABLE investments_new (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                category TEXT NOT NULL,
+                amount INTEGER NOT NULL,
+                start_date TEXT NOT NULL,
+                frequency TEXT NOT NULL,
+                day_of_month INTEGER,
+                maturity_date TEXT,
+                interest_rate REAL,
+                status TEXT DEFAULT 'Active'
+            )
+            """,
+            "id, name, category, amount, start_date, frequency, day_of_month, maturity_date, interest_rate, status",
+            "id, name, category, " + toMinor("amount")
+                + ", start_date, frequency, day_of_month, maturity_date, interest_rate, status");
+        
+        rebuildTable(stmt, "budget", """
+            CREATE TABLE budget_new (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                monthly_income INTEGER NOT NULL,
+                limit_amount INTEGER NOT NULL
+            )
+            """,
+            "id, monthly_income, limit_amount",
+            "id, " + toMinor("monthly_income") + ", " + toMinor("limit_amount"));
+        
+        rebuildTable(stmt, "category_budgets", """
+            CREATE TABLE category_budgets_new (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                category_id INTEGER NOT NULL,
+                month TEXT NOT NULL,
+                limit_amount INTEGER NOT NULL,
+                FOREIGN KEY(category_id) REFERENCES categories(id) ON DELETE CASCADE,
+                UNIQUE(category_id, month)
+            )
+            """,
+            "id, category_id, month, limit_amount",
+            "id, category_id, month, " + toMinor("limit_amount"));
+    }
+    
+    private static String toMinor(String column) {
+        return "CAST(ROUND(" + column + " * 100) AS INTEGER)";
+    }
+    
+    /**
+     * Copy table into table_new (created by createSql), then swap the two.
+     * The AUTOINCREMENT counter is carried over so deleted ids are never reused.
+     */
+    private static void rebuildTable(Statement stmt, String table, String createSql,
+                                     String columns, String selectExpressions) throws SQLException {
+        String newTable = table + "_new";
+        stmt.execute(createSql);
+        stmt.execute("INSERT INTO " + newTable + " (" + columns + ") SELECT " + selectExpressions + " FROM " + table);
+        stmt.execute("DELETE FROM sqlite_sequence WHERE name = '" + newTable + "'");
+        stmt.execute("INSERT INTO sqlite_sequence (name, seq) SELECT '" + newTable + "', seq FROM sqlite_sequence WHERE name = '" + table + "'");
+        stmt.execute("DROP TABLE " + table);
+        stmt.execute("ALTER TABLE " + newTable + " RENAME TO " + table);
+    }
+    
+    /**
+     * Sample data and defaults for a brand-new database. Databases that already
+     * hold data keep it untouched.
+     */
+    private static void seedDefaults(Statement stmt) throws SQLException {
+        if (isEmpty(stmt, "transactions")) {
+            String[] sampleTransactions = {
+                "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Food', 45.50, '2024-10-15', 'Grocery shopping')",
+                "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Income', 'Salary', 3000.00, '2024-10-01', 'Monthly salary')",
+                "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Entertainment', 25.00, '2024-10-18', 'Movie tickets')",
+                "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Expense', 'Transport', 15.75, '2024-10-20', 'Bus fare')",
+                "INSERT INTO transactions (type, category, amount, date, notes) VALUES ('Income', 'Freelance', 500.00, '2024-10-12', 'Web design project')"
+            };
+            for (String sql : sampleTransactions) {
+                stmt.execute(sql);
+            }
+        }
+        
+        if (isEmpty(stmt, "budget")) {
+            stmt.execute("INSERT INTO budget (monthly_income, limit_amount) VALUES (3500.00, 2000.00)");
+        }
+        
+        if (isEmpty(stmt, "categories")) {
+            String[] expenseCategories = {"Food", "Transport", "Entertainment", "Shopping", "Bills", "Healthcare", "Education", "Utilities", "Other"};
+            String[] incomeCategories = {"Salary", "Freelance", "Investment", "Bonus", "Other"};
+            
+            for (String cat : expenseCategories) {
+                stmt.execute("INSERT OR IGNORE INTO categories (name, type, color) VALUES ('" + cat + "', 'Expense', '#00C897')");
+            }
+            for (String cat : incomeCategories) {
+                stmt.execute("INSERT OR IGNORE INTO categories (name, type, color) VALUES ('" + cat + "', 'Income', '#00C897')");
+            }
+        }
+        
+        if (isEmpty(stmt, "app_settings")) {
+            stmt.execute("INSERT INTO app_settings (key, value) VALUES ('theme', 'Dark')");
+            stmt.execute("INSERT INTO app_settings (key, value) VALUES ('currency', 'INR')");
+            stmt.execute("INSERT INTO app_settings (key, value) VALUES ('user_name', 'User')");
+        }
+    }
+    
+    private static boolean isEmpty(Statement stmt, String table) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table + ")")) {
+            return !rs.next() || rs.getInt(1) == 0;
+        }
+    }
+    
+    /**
+     * Add a column unless an older release already created the table with it.
+     */
+    private static void addColumnIfMissing(Statement stmt, String table, String column, String definition) throws SQLException {
+        boolean exists = false;
+        try (ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    exists = true;
+                }
+            }
+        }
+        if (!exists) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+}
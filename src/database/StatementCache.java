@@ -0,0 +1,175 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-connection cache of prepared statements, keyed by SQL.
+ * WHY: SQLite parses and plans a statement on every prepareStatement, and the DAOs run
+ * the same few dozen statements all session, often in loops (SIP processing, imports).
+ *
+ * ConnectionPool routes prepareStatement on a lease through here, so DAOs need no
+ * changes. A statement is checked out while in use; close() resets it (closing any open
+ * result set, clearing parameters and batch) and checks it back in. Preparing SQL that is
+ * already checked out, as in a nested DAO call, yields a fresh statement. At most
+ * MAX_IDLE_STATEMENTS are kept per connection; the least recently used is closed.
+ *
+ * Only used by the thread holding the connection's lease, except for close() at shutdown.
+ */
+final class StatementCache {
+    private static final int MAX_IDLE_STATEMENTS = 64;
+    
+    // Counters across every connection's cache
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+    
+    private final Connection physical;
+    private final Map<String, PreparedStatement> idle = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+            if (size() <= MAX_IDLE_STATEMENTS) {
+                return false;
+            }
+            evictions.incrementAndGet();
+            closeQuietly(eldest.getValue());
+            return true;
+        }
+    };
+    private boolean closed = false;
+    
+    StatementCache(Connection physical) {
+        this.physical = physical;
+    }
+    
+    /**
+     * A cached statement for sql if one is idle, otherwise a newly prepared one.
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS, or null for the plain overload
+     */
+    PreparedStatement prepare(String sql, Integer autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == null ? sql : autoGeneratedKeys + ":" + sql;
+        PreparedStatement statement = checkOut(key);
+        if (statement != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            statement = autoGeneratedKeys == null
+                ? physical.prepareStatement(sql)
+                : physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        return (PreparedStatement) Proxy.newProxyInstance(
+            PreparedStatement.class.getClassLoader(),
+            new Class<?>[]{PreparedStatement.class},
+            new CachedStatementHandler(key, statement));
+    }
+    
+    private synchronized PreparedStatement checkOut(String key) {
+        return closed ? null : idle.remove(key);
+    }
+    
+    private synchronized void checkIn(String key, PreparedStatement statement) {
+        if (closed || idle.containsKey(key)) {
+            closeQuietly(statement);
+            return;
+        }
+        idle.put(key, statement);
+    }
+    
+    /**
+     * Close every idle statement. Statements still checked out are closed when returned.
+     */
+    synchronized void close() {
+        closed = true;
+        for (PreparedStatement statement : idle.values()) {
+            closeQuietly(statement);
+        }
+        idle.clear();
+    }
+    
+    /**
+     * One-line summary across all connections, for logs and diagnostics.
+     */
+    static String getStats() {
+        return String.format("StatementCache: %d prepares saved, %d prepared, %d evicted",
+            hits.get(), misses.get(), evictions.get());
+    }
+    
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Forwards to the physical statement; close() resets it and returns it to the cache.
+     */
+    private class CachedStatementHandler implements InvocationHandler {
+        private final String key;
+        private final PreparedStatement statement;
+        private ResultSet openResults;
+        private boolean returned = false;
+        
+        CachedStatementHandler(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release();
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + key + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                Object result = method.invoke(statement, args);
+                if (result instanceof ResultSet) {
+                    openResults = (ResultSet) result;
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        
+        private void release() {
+            try {
+                // Callers often leave the result set to be closed with the statement
+                if (openResults != null) {
+                    openResults.close();
+                }
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                // Not in a reusable state; drop it
+                closeQuietly(statement);
+                return;
+            }
+            checkIn(key, statement);
+        }
+    }
+}
@@ -1,37 +1,56 @@
 package database;
 
+import models.Money;
 import models.Transaction;
+import models.TransactionTotals;
 import events.TransactionEventManager;
+import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class TransactionDAO {
+    private static final int STREAM_FETCH_SIZE = 1000;
+    
+    /**
+     * Receives rows one at a time from forEachTransaction.
+     */
+    public interface TransactionVisitor {
+        void visit(Transaction transaction) throws IOException;
+    }
+    
+    /**
+     * Receives the analytic columns of each row from scanLedger, without building a Transaction.
+     */
+    public interface LedgerRowVisitor {
+        void visit(int id, String type, String category, String source, String date, long amountMinor);
+    }
+    
+    /**
+     * Receives one grouped total from forEachPeriodTotal or RollupDAO.forEachMonthlyTotal.
+     * @param period A date (YYYY-MM-DD) or a month (YYYY-MM)
+     */
+    public interface PeriodTotalVisitor {
+        void visit(String period, String type, String category, long totalMinor);
+    }
     
     public List<Transaction> getAllTransactions() {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY date DESC";
+        String sql = "SELECT * FROM transactions ORDER BY date DESC, id DESC";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed: getConnection returned null");
                 return transactions;
             }
             try (Statement stmt = conn.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
-            
+                
                 while (rs.next()) {
-                    Transaction transaction = new Transaction(
-                        rs.getInt("id"),
-                        rs.getString("type"),
-                        rs.getString("category"),
-                        rs.getDouble("amount"),
-                        rs.getString("date"),
-                        rs.getString("notes"),
-                        rs.getString("source")
-                    );
-                    transactions.add(transaction);
+                    transactions.add(mapTransaction(rs));
                 }
             }
         } catch (SQLException e) {
@@ -41,32 +60,142 @@ public class TransactionDAO {
         return transactions;
     }
     
+    /**
+     * Stream transactions newest first through a forward-only cursor without building a list.
+     * WHY: Memory stays constant however large the ledger is, so exports can cover all history.
+     * @param fromDate Inclusive lower bound (YYYY-MM-DD), or null
+     * @param toDateExclusive Exclusive upper bound (YYYY-MM-DD), or null
+     * @param sourcePrefix Only sources starting with this (e.g. "investment"), or null
+     * @return Number of rows visited, or -1 if the query failed
+     * @throws IOException if the visitor fails; the cursor is closed first
+     */
+    public int forEachTransaction(String fromDate, String toDateExclusive, String sourcePrefix,
+                                  TransactionVisitor visitor) throws IOException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM transactions WHERE 1 = 1");
+        List<String> params = new ArrayList<>();
+        if (sourcePrefix != null && !sourcePrefix.isEmpty()) {
+            // Range instead of LIKE so the (source, date) index can be used
+            sql.append(" AND source >= ? AND source < ?");
+            params.add(sourcePrefix);
+            params.add(sourcePrefix.substring(0, sourcePrefix.length() - 1)
+                + (char) (sourcePrefix.charAt(sourcePrefix.length() - 1) + 1));
+        }
+        if (fromDate != null) {
+            sql.append(" AND date >= ?");
+            params.add(fromDate);
+        }
+        if (toDateExclusive != null) {
+            sql.append(" AND date < ?");
+            params.add(toDateExclusive);
+        }
+        sql.append(" ORDER BY date DESC, id DESC");
+        
+        int count = 0;
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setString(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.visit(mapTransaction(rs));
+                        count++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error streaming transactions: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
+    
+    /**
+     * Stream the columns used for analytics (no notes) in id order through a forward-only cursor.
+     * @return Number of rows visited, or -1 if the query failed
+     */
+    public int scanLedger(LedgerRowVisitor visitor) {
+        String sql = "SELECT id, type, category, source, date, amount FROM transactions ORDER BY id";
+        int count = 0;
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.visit(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getString(5), rs.getLong(6));
+                        count++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error scanning ledger: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
+    
+    /**
+     * Sums per day (or per month) and category for dates in [fromDate, toDateExclusive),
+     * grouped in SQL over the date index.
+     * @param byMonth Group by YYYY-MM instead of by date
+     * @return Number of groups visited, or -1 if the query failed
+     */
+    public int forEachPeriodTotal(boolean byMonth, String fromDate, String toDateExclusive,
+                                  PeriodTotalVisitor visitor) {
+        String period = byMonth ? "substr(date, 1, 7)" : "date";
+        String sql = "SELECT " + period + " AS period, type, category, SUM(amount) FROM transactions "
+            + "WHERE date >= ? AND date < ? GROUP BY period, type, category";
+        int count = 0;
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, fromDate);
+                pstmt.setString(2, toDateExclusive);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        visitor.visit(rs.getString(1), rs.getString(2), rs.getString(3), rs.getLong(4));
+                        count++;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error grouping transactions by period: " + e.getMessage());
+            return -1;
+        }
+        return count;
+    }
+    
     public List<Transaction> getRecentTransactions(int limit) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY date DESC LIMIT ?";
+        String sql = "SELECT * FROM transactions ORDER BY date DESC, id DESC LIMIT ?";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return transactions;
             }
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-                pstmt.setInt(1, limit);
-                ResultSet rs = pstmt.executeQuery();
                 
-                while (rs.next()) {
-                    Transaction transaction = new Transaction(
-                        rs.getInt("id"),
-                        rs.getString("type"),
-                        rs.getString("category"),
-                        rs.getDouble("amount"),
-                        rs.getString("date"),
-                        rs.getString("notes"),
-                        rs.getString("source")
-                    );
-                    transactions.add(transaction);
+                pstmt.setInt(1, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        transactions.add(mapTransaction(rs));
+                    }
                 }
             }
         } catch (SQLException e) {
@@ -79,30 +208,81 @@ public class TransactionDAO {
     public boolean addTransaction(Transaction transaction) {
         String sql = "INSERT INTO transactions (type, category, amount, date, notes, source) VALUES (?, ?, ?, ?, ?, ?)";
         
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                
+                pstmt.setString(1, transaction.getType());
+                pstmt.setString(2, transaction.getCategory());
+                pstmt.setLong(3, transaction.getAmountMinor());
+                pstmt.setString(4, transaction.getDate());
+                pstmt.setString(5, transaction.getNotes());
+                pstmt.setString(6, transaction.getSource());
+                
+                int result = pstmt.executeUpdate();
+                if (result > 0) {
+                    QueryCache.getInstance().invalidate(QueryCache.TRANSACTIONS);
+                    // Listeners apply the event as a single-row insert, so they need the new id
+                    try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                        if (keys.next()) {
+                            transaction.setId(keys.getInt(1));
+                        }
+                    }
+                    // Fire transaction added event
+                    TransactionEventManager.getInstance().notifyTransactionAdded(transaction);
+                    return true;
+                }
+                return false;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error adding transaction: " + e.getMessage());
             return false;
         }
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, transaction.getType());
-            pstmt.setString(2, transaction.getCategory());
-            pstmt.setDouble(3, transaction.getAmount());
-            pstmt.setString(4, transaction.getDate());
-            pstmt.setString(5, transaction.getNotes());
-            pstmt.setString(6, transaction.getSource());
-            
-            int result = pstmt.executeUpdate();
-            if (result > 0) {
-                // Fire transaction added event
-                TransactionEventManager.getInstance().notifyTransactionAdded(transaction);
+    }
+    
+    /**
+     * Insert many transactions in one database transaction, reusing a single statement.
+     * All-or-nothing: on failure the whole batch is rolled back.
+     * WHY: Fires no per-row events; callers send one notifyTransactionsRefreshed when done,
+     * so a bulk import does not make every panel reload once per row.
+     */
+    public boolean insertBatch(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO transactions (type, category, amount, date, notes, source) VALUES (?, ?, ?, ?, ?, ?)";
+        
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (Transaction transaction : transactions) {
+                    pstmt.setString(1, transaction.getType());
+                    pstmt.setString(2, transaction.getCategory());
+                    pstmt.setLong(3, transaction.getAmountMinor());
+                    pstmt.setString(4, transaction.getDate());
+                    pstmt.setString(5, transaction.getNotes());
+                    pstmt.setString(6, transaction.getSource());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                conn.commit();
+                QueryCache.getInstance().invalidate(QueryCache.TRANSACTIONS);
                 return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
-            return false;
-            
         } catch (SQLException e) {
-            System.err.println("Error adding transaction: " + e.getMessage());
+            System.err.println("Error inserting transaction batch: " + e.getMessage());
             return false;
         }
     }
@@ -110,22 +290,23 @@ public class TransactionDAO {
     public boolean deleteTransaction(int id) {
         String sql = "DELETE FROM transactions WHERE id = ?";
         
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return false;
-        }
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, id);
-            int result = pstmt.executeUpdate();
-            if (result > 0) {
-                // Fire transaction deleted event
-                TransactionEventManager.getInstance().notifyTransactionDeleted(id);
-                return true;
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                pstmt.setInt(1, id);
+                int result = pstmt.executeUpdate();
+                if (result > 0) {
+                    QueryCache.getInstance().invalidate(QueryCache.TRANSACTIONS);
+                    // Fire transaction deleted event
+                    TransactionEventManager.getInstance().notifyTransactionDeleted(id);
+                    return true;
+                }
+                return false;
             }
-            return false;
-            
         } catch (SQLException e) {
             System.err.println("Error deleting transaction: " + e.getMessage());
             return false;
@@ -135,90 +316,101 @@ public class TransactionDAO {
     public boolean deleteTransactionsByName(String name) {
         String sql = "DELETE FROM transactions WHERE notes = ? AND source LIKE 'investment%'";
         
-        Connection conn = DBConnection.getConnection();
-        if (conn == null) {
-            System.err.println("Database connection failed");
-            return false;
-        }
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, name);
-            int result = pstmt.executeUpdate();
-            if (result > 0) {
-                // Fire event for each deleted transaction (simplified)
-                TransactionEventManager.getInstance().notifyTransactionsRefreshed();
-                return true;
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, name);
+                int result = pstmt.executeUpdate();
+                if (result > 0) {
+                    QueryCache.getInstance().invalidate(QueryCache.TRANSACTIONS);
+                    // Fire event for each deleted transaction (simplified)
+                    TransactionEventManager.getInstance().notifyTransactionsRefreshed();
+                    return true;
+                }
+                return false;
             }
-            return false;
         } catch (SQLException e) {
             System.err.println("Error deleting transactions by name: " + e.getMessage());
             return false;
         }
     }
     
-    public double getTotalIncome() {
-        String sql = "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE type = 'Income'";
+    /**
+     * Income, expenses and count for a dashboard duration ("This Month", "All Time", ...).
+     * WHY: One conditional-sum pass replaces a separate SUM scan per figure.
+     */
+    public TransactionTotals getTotals(String period) {
+        String[] range = durationRange(period);
+        // Keyed on the resolved range, so "This Month" rolls over at midnight
+        String key = range == null ? "getTotals" : "getTotals:" + range[0] + ":" + range[1];
+        TransactionTotals totals = QueryCache.getInstance().get(key, () -> loadTotals(period, range),
+            QueryCache.TRANSACTIONS);
+        return totals != null ? totals : TransactionTotals.EMPTY;
+    }
+    
+    /**
+     * @return The totals, or null on error so the failure is not cached
+     */
+    private TransactionTotals loadTotals(String period, String[] range) {
+        String sql = """
+            SELECT COALESCE(SUM(CASE WHEN type = 'Income' THEN amount END), 0) AS income,
+                   COALESCE(SUM(CASE WHEN type = 'Expense' THEN amount END), 0) AS expenses,
+                   COUNT(*) AS txn_count
+            FROM transactions
+            """ + (range == null ? "" : "WHERE date >= ? AND date < ?");
         
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                double value = rs.getDouble(1);
-                return rs.wasNull() ? 0.0 : value;
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                if (range != null) {
+                    pstmt.setString(1, range[0]);
+                    pstmt.setString(2, range[1]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return new TransactionTotals(rs.getLong("income"), rs.getLong("expenses"), rs.getInt("txn_count"));
+                    }
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error calculating total income: " + e.getMessage());
+            System.err.println("Error calculating totals (" + period + "): " + e.getMessage());
         }
         
-        return 0.0;
+        return null;
+    }
+    
+    public double getTotalIncome() {
+        return getTotals("All Time").getIncome();
     }
     
     public double getTotalExpenses() {
-        String sql = "SELECT COALESCE(SUM(amount), 0) FROM transactions WHERE type = 'Expense'";
-        
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                double value = rs.getDouble(1);
-                return rs.wasNull() ? 0.0 : value;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error calculating total expenses: " + e.getMessage());
-        }
-        
-        return 0.0;
+        return getTotals("All Time").getExpenses();
     }
     
     public double getBalance() {
-        return getTotalIncome() - getTotalExpenses();
+        return getTotals("All Time").getBalance();
     }
     
     public List<Transaction> getAllManualTransactions() {
         List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE source = 'manual' ORDER BY date DESC";
+        String sql = "SELECT * FROM transactions WHERE source = 'manual' ORDER BY date DESC, id DESC";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return transactions;
             }
             try (Statement stmt = conn.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
-            
+                
                 while (rs.next()) {
-                    Transaction transaction = new Transaction(
-                        rs.getInt("id"),
-                        rs.getString("type"),
-                        rs.getString("category"),
-                        rs.getDouble("amount"),
-                        rs.getString("date"),
-                        rs.getString("notes"),
-                        rs.getString("source")
-                    );
-                    transactions.add(transaction);
+                    transactions.add(mapTransaction(rs));
                 }
             }
         } catch (SQLException e) {
@@ -233,22 +425,22 @@ public class TransactionDAO {
     }
     
     public boolean hasTransactionForMonth(String note, String yearMonth) {
-        String sql = "SELECT COUNT(*) FROM transactions WHERE notes = ? AND strftime('%Y-%m', date) = ?";
+        String sql = "SELECT 1 FROM transactions WHERE notes = ? AND date >= ? AND date < ? LIMIT 1";
         
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 return false;
             }
+            YearMonth month = YearMonth.parse(yearMonth);
             try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
                 pstmt.setString(1, note);
-                pstmt.setString(2, yearMonth);
-                ResultSet rs = pstmt.executeQuery();
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                pstmt.setString(2, month.atDay(1).toString());
+                pstmt.setString(3, month.plusMonths(1).atDay(1).toString());
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next();
                 }
             }
-        } catch (SQLException e) {
+        } catch (SQLException | DateTimeParseException e) {
             System.err.println("Error checking for transaction: " + e.getMessage());
         }
         return false;
@@ -256,45 +448,25 @@ public class TransactionDAO {
     
     public List<Transaction> getTransactionsByDuration(String duration) {
         List<Transaction> transactions = new ArrayList<>();
-        String sql;
+        String[] range = durationRange(duration);
+        String sql = range == null
+            ? "SELECT * FROM transactions ORDER BY date DESC, id DESC"
+            : "SELECT * FROM transactions WHERE date >= ? AND date < ? ORDER BY date DESC, id DESC";
         
-        switch(duration) {
-            case "This Month":
-                sql = "SELECT * FROM transactions WHERE strftime('%Y-%m', date) = strftime('%Y-%m', 'now') ORDER BY date DESC";
-                break;
-            case "Last 3 Months":
-                sql = "SELECT * FROM transactions WHERE date BETWEEN strftime('%Y-%m-%d', 'now', '-3 months') AND strftime('%Y-%m-%d', 'now') ORDER BY date DESC";
-                break;
-            case "This Year":
-                sql = "SELECT * FROM transactions WHERE strftime('%Y', date) = strftime('%Y', 'now') ORDER BY date DESC";
-                break;
-            case "All Time":
-                sql = "SELECT * FROM transactions ORDER BY date DESC";
-                break;
-            default:
-                sql = "SELECT * FROM transactions WHERE strftime('%Y-%m', date) = strftime('%Y-%m', 'now') ORDER BY date DESC";
-        }
-        
-        try {
-            Connection conn = DBConnection.getConnection();
+        try (Connection conn = DBConnection.getReadConnection()) {
             if (conn == null) {
                 System.err.println("Database connection failed");
                 return transactions;
             }
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery(sql)) {
-            
-                while (rs.next()) {
-                    Transaction transaction = new Transaction(
-                        rs.getInt("id"),
-                        rs.getString("type"),
-                        rs.getString("category"),
-                        rs.getDouble("amount"),
-                        rs.getString("date"),
-                        rs.getString("notes"),
-                        rs.getString("source")
-                    );
-                    transactions.add(transaction);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                if (range != null) {
+                    pstmt.setString(1, range[0]);
+                    pstmt.setString(2, range[1]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        transactions.add(mapTransaction(rs));
+                    }
                 }
             }
         } catch (SQLException e) {
@@ -304,38 +476,188 @@ public class TransactionDAO {
         return transactions;
     }
     
-    public double[] getBudgetInfo() {
+    /**
+     * Count transactions matching a page query; see getTransactionPage for the parameters.
+     * @return Row count, or -1 if the query failed
+     */
+    public int countTransactions(String fromDate, String toDateExclusive, String source) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM transactions WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendPageFilter(sql, params, fromDate, toDateExclusive, source);
+        
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return -1;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error counting transactions: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * One page of transactions, newest first, continuing after a known row (keyset pagination).
+     * WHY: Seeking past (afterDate, afterId) on the date indexes costs the same on page 5000
+     * as on page 1, unlike a growing OFFSET, so the table never holds more than a few pages.
+     * @param fromDate Inclusive lower bound (YYYY-MM-DD), or null
+     * @param toDateExclusive Exclusive upper bound (YYYY-MM-DD), or null
+     * @param source Exact source (e.g. "manual"), or null for all sources
+     * @param afterDate Date of the last row already seen, or null to start from the newest
+     * @param afterId Id of the last row already seen; ignored when afterDate is null
+     * @param skip Rows to skip after that row, for jumping ahead several pages at once
+     * @param limit Page size
+     * @return The page, or null if the query failed
+     */
+    public List<Transaction> getTransactionPage(String fromDate, String toDateExclusive, String source,
+                                                String afterDate, int afterId, int skip, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM transactions WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+        appendPageFilter(sql, params, fromDate, toDateExclusive, source);
+        if (afterDate != null) {
+            sql.append(" AND (date, id) < (?, ?)");
+            params.add(afterDate);
+            params.add(afterId);
+        }
+        // OFFSET only skips index entries; rows are read for the page itself
+        sql.append(" ORDER BY date DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(skip);
+        
+        List<Transaction> transactions = new ArrayList<>(limit);
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        transactions.add(mapTransaction(rs));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error retrieving transaction page: " + e.getMessage());
+            return null;
+        }
+        return transactions;
+    }
+    
+    private static void appendPageFilter(StringBuilder sql, List<Object> params,
+                                         String fromDate, String toDateExclusive, String source) {
+        if (source != null) {
+            sql.append(" AND source = ?");
+            params.add(source);
+        }
+        if (fromDate != null) {
+            sql.append(" AND date >= ?");
+            params.add(fromDate);
+        }
+        if (toDateExclusive != null) {
+            sql.append(" AND date < ?");
+            params.add(toDateExclusive);
+        }
+    }
+    
+    /**
+     * Half-open date range [from, to) (YYYY-MM-DD) for a dashboard duration, or null for "All Time".
+     * WHY: Comparing the raw date column keeps the predicate sargable, so SQLite can
+     * seek the date indexes instead of evaluating strftime() on every row.
+     */
+    public static String[] durationRange(String duration) {
+        LocalDate today = LocalDate.now();
+        switch (duration) {
+            case "Last 3 Months":
+                return new String[]{today.minusMonths(3).toString(), today.plusDays(1).toString()};
+            case "This Year":
+                return new String[]{today.withDayOfYear(1).toString(), today.withDayOfYear(1).plusYears(1).toString()};
+            case "All Time":
+                return null;
+            case "This Month":
+            default:
+                YearMonth month = YearMonth.from(today);
+                return new String[]{month.atDay(1).toString(), month.plusMonths(1).atDay(1).toString()};
+        }
+    }
+    
+    /**
+     * Overall budget as {monthlyIncome, limitAmount} in minor units (see Money).
+     */
+    public long[] getBudgetInfo() {
+        long[] info = QueryCache.getInstance().get("getBudgetInfo", this::loadBudgetInfo, QueryCache.BUDGET);
+        return info != null ? info.clone() : new long[]{0, 0};
+    }
+    
+    private long[] loadBudgetInfo() {
         String sql = "SELECT monthly_income, limit_amount FROM budget ORDER BY id DESC LIMIT 1";
         
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                return new double[]{rs.getDouble("monthly_income"), rs.getDouble("limit_amount")};
+        try (Connection conn = DBConnection.getReadConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return null;
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                
+                if (rs.next()) {
+                    return new long[]{rs.getLong("monthly_income"), rs.getLong("limit_amount")};
+                }
             }
         } catch (SQLException e) {
             System.err.println("Error retrieving budget info: " + e.getMessage());
+            return null;
         }
         
-        return new double[]{0.0, 0.0};
+        return new long[]{0, 0};
     }
     
-    public boolean updateBudget(double monthlyIncome, double limitAmount) {
+    /**
+     * Save the overall budget; both amounts are in minor units (see Money).
+     */
+    public boolean updateBudget(long monthlyIncome, long limitAmount) {
         String sql = "INSERT OR REPLACE INTO budget (id, monthly_income, limit_amount) VALUES (1, ?, ?)";
         
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setDouble(1, monthlyIncome);
-            pstmt.setDouble(2, limitAmount);
-            
-            int result = pstmt.executeUpdate();
-            return result > 0;
-            
+        try (Connection conn = DBConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("Database connection failed");
+                return false;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                pstmt.setLong(1, monthlyIncome);
+                pstmt.setLong(2, limitAmount);
+                
+                int result = pstmt.executeUpdate();
+                QueryCache.getInstance().invalidate(QueryCache.BUDGET);
+                return result > 0;
+            }
         } catch (SQLException e) {
             System.err.println("Error updating budget: " + e.getMessage());
             return false;
         }
     }
-}
\ No newline at end of file
+    
+    private static Transaction mapTransaction(ResultSet rs) throws SQLException {
+        return new Transaction(
+            rs.getInt("id"),
+            rs.getString("type"),
+            rs.getString("category"),
+            Money.ofMinor(rs.getLong("amount")),
+            rs.getString("date"),
+            rs.getString("notes"),
+            rs.getString("source")
+        );
+    }
+}
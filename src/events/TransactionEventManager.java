@@ -3,13 +3,54 @@ package events;
 import models.Transaction;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Event bus for transaction changes.
+ * WHY: Events are queued and delivered on a background dispatcher, so a slow listener
+ * never blocks the DAO write that fired the event. Each listener's events are coalesced
+ * over a short window; a burst (an import, SIP processing) collapses into one
+ * onTransactionsRefreshed instead of one full reload per row.
+ *
+ * Listeners are called on the dispatcher thread, not the EDT. UI listeners must hop to
+ * the EDT (SwingUtilities.invokeLater) or hand off to DataLoader.
+ */
 public class TransactionEventManager {
+    // Quiet period before a listener's pending events are delivered
+    private static final long COALESCE_WINDOW_MS = 50;
+    // Upper bound on how long a steady stream of events can postpone delivery
+    private static final long MAX_DELAY_MS = 250;
+    // More pending events than this are delivered as a single refresh
+    private static final int MAX_INDIVIDUAL_EVENTS = 5;
+    
     private static TransactionEventManager instance;
-    private List<TransactionListener> listeners;
+    private final CopyOnWriteArrayList<TransactionListener> listeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<TransactionListener> synchronousListeners = new CopyOnWriteArrayList<>();
+    private final Map<TransactionListener, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    // Timer for coalescing windows; delivery itself runs on the dispatcher pool so
+    // one slow listener does not hold up the others
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+        daemonThreads("pfa-event-timer"));
+    private final ExecutorService dispatcher = Executors.newCachedThreadPool(daemonThreads("pfa-event-dispatch"));
     
     private TransactionEventManager() {
-        listeners = new ArrayList<>();
+    }
+    
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
     
     public static synchronized TransactionEventManager getInstance() {
@@ -20,36 +61,162 @@ public class TransactionEventManager {
     }
     
     public void subscribe(TransactionListener listener) {
-        if (!listeners.contains(listener)) {
-            listeners.add(listener);
+        if (listeners.addIfAbsent(listener)) {
+            mailboxes.put(listener, new Mailbox(listener));
         }
     }
     
     public void unsubscribe(TransactionListener listener) {
         listeners.remove(listener);
+        mailboxes.remove(listener);
+        synchronousListeners.remove(listener);
+    }
+    
+    /**
+     * Deliver every event, uncoalesced, on the thread that fires it, before any
+     * asynchronous listener sees it.
+     * Only for cheap in-memory bookkeeping (e.g. LedgerSnapshot) that other listeners
+     * read from and so must already be current; never for UI or I/O.
+     */
+    public void subscribeSynchronous(TransactionListener listener) {
+        synchronousListeners.addIfAbsent(listener);
     }
     
     public void notifyTransactionAdded(Transaction transaction) {
-        for (TransactionListener listener : listeners) {
-            listener.onTransactionAdded(transaction);
-        }
+        deliverNow(listener -> listener.onTransactionAdded(transaction));
+        post(listener -> listener.onTransactionAdded(transaction), false);
     }
     
     public void notifyTransactionDeleted(int transactionId) {
-        for (TransactionListener listener : listeners) {
-            listener.onTransactionDeleted(transactionId);
-        }
+        deliverNow(listener -> listener.onTransactionDeleted(transactionId));
+        post(listener -> listener.onTransactionDeleted(transactionId), false);
     }
     
     public void notifyTransactionUpdated(Transaction transaction) {
-        for (TransactionListener listener : listeners) {
-            listener.onTransactionUpdated(transaction);
-        }
+        deliverNow(listener -> listener.onTransactionUpdated(transaction));
+        post(listener -> listener.onTransactionUpdated(transaction), false);
     }
     
     public void notifyTransactionsRefreshed() {
+        deliverNow(TransactionListener::onTransactionsRefreshed);
+        post(TransactionListener::onTransactionsRefreshed, true);
+    }
+    
+    /**
+     * Tell the synchronous listeners that the database they mirror was closed, so they
+     * reload from whichever database is opened next. Asynchronous listeners are not
+     * told: they would query at once and reopen the database being closed.
+     */
+    public void notifyDatabaseClosed() {
+        deliverNow(TransactionListener::onTransactionsRefreshed);
+    }
+    
+    private void deliverNow(Event event) {
+        for (TransactionListener listener : synchronousListeners) {
+            try {
+                event.deliverTo(listener);
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering transaction event to " + listener + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    private void post(Event event, boolean refresh) {
         for (TransactionListener listener : listeners) {
-            listener.onTransactionsRefreshed();
+            Mailbox mailbox = mailboxes.get(listener);
+            if (mailbox != null) {
+                mailbox.offer(event, refresh);
+            }
+        }
+    }
+    
+    /**
+     * One delivery to one listener.
+     */
+    private interface Event {
+        void deliverTo(TransactionListener listener);
+    }
+    
+    /**
+     * Pending events for one listener, flushed once the coalescing window closes.
+     */
+    private class Mailbox {
+        private final TransactionListener listener;
+        private final List<Event> pending = new ArrayList<>();
+        private boolean refreshPending = false;
+        private boolean flushScheduled = false;
+        private long firstEventAt;
+        private long lastEventAt;
+        
+        Mailbox(TransactionListener listener) {
+            this.listener = listener;
+        }
+        
+        synchronized void offer(Event event, boolean refresh) {
+            long now = System.currentTimeMillis();
+            if (pending.isEmpty() && !refreshPending) {
+                firstEventAt = now;
+            }
+            lastEventAt = now;
+            if (refresh) {
+                // A full refresh subsumes every individual event before it
+                refreshPending = true;
+                pending.clear();
+            } else if (!refreshPending) {
+                pending.add(event);
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                timer.schedule(this::flush, COALESCE_WINDOW_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        /**
+         * Runs on the timer once the window may have closed; at most one flush or
+         * delivery per listener is in flight, so events arrive in order.
+         */
+        private void flush() {
+            List<Event> batch;
+            boolean refresh;
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                long quietFor = now - lastEventAt;
+                long waitedFor = now - firstEventAt;
+                if (quietFor < COALESCE_WINDOW_MS && waitedFor < MAX_DELAY_MS) {
+                    // Events are still arriving; wait for the burst to settle
+                    long delay = Math.min(COALESCE_WINDOW_MS - quietFor, MAX_DELAY_MS - waitedFor);
+                    timer.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                refresh = refreshPending || pending.size() > MAX_INDIVIDUAL_EVENTS;
+                batch = refresh ? List.of() : new ArrayList<>(pending);
+                pending.clear();
+                refreshPending = false;
+            }
+            dispatcher.execute(() -> deliver(batch, refresh));
+        }
+        
+        private void deliver(List<Event> batch, boolean refresh) {
+            try {
+                if (refresh) {
+                    listener.onTransactionsRefreshed();
+                } else {
+                    for (Event event : batch) {
+                        event.deliverTo(listener);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering transaction event to " + listener + ": " + e.getMessage());
+            }
+            
+            synchronized (this) {
+                if (pending.isEmpty() && !refreshPending) {
+                    flushScheduled = false;
+                } else {
+                    // Events arrived during delivery; they get their own window
+                    timer.schedule(this::flush, COALESCE_WINDOW_MS, TimeUnit.MILLISECONDS);
+                }
+            }
         }
     }
 }
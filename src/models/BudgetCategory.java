@@ -5,7 +5,7 @@ public class BudgetCategory {
     private int categoryId;
     private String categoryName;
     private String month;  // Format: YYYY-MM
-    private double limitAmount;
+    private long limitMinor;  // Exact limit in minor units (see Money)
     
     // Constructor with all fields
     public BudgetCategory(int id, int categoryId, String categoryName, String month, double limitAmount) {
@@ -13,7 +13,7 @@ public class BudgetCategory {
         this.categoryId = categoryId;
         this.categoryName = categoryName;
         this.month = month;
-        this.limitAmount = limitAmount;
+        this.limitMinor = Money.toMinor(limitAmount);
     }
     
     // Constructor without id (for new budget entries)
@@ -21,7 +21,7 @@ public class BudgetCategory {
         this.categoryId = categoryId;
         this.categoryName = categoryName;
         this.month = month;
-        this.limitAmount = limitAmount;
+        this.limitMinor = Money.toMinor(limitAmount);
     }
     
     // Getters
@@ -42,7 +42,11 @@ public class BudgetCategory {
     }
     
     public double getLimitAmount() {
-        return limitAmount;
+        return Money.toMajor(limitMinor);
+    }
+    
+    public long getLimitMinor() {
+        return limitMinor;
     }
     
     // Setters
@@ -63,12 +67,16 @@ public class BudgetCategory {
     }
     
     public void setLimitAmount(double limitAmount) {
-        this.limitAmount = limitAmount;
+        this.limitMinor = Money.toMinor(limitAmount);
+    }
+    
+    public void setLimitMinor(long limitMinor) {
+        this.limitMinor = limitMinor;
     }
     
     @Override
     public String toString() {
-        return String.format("BudgetCategory{category='%s', month='%s', limit=%.2f}", 
-                             categoryName, month, limitAmount);
+        return String.format("BudgetCategory{category='%s', month='%s', limit=%s}", 
+                             categoryName, month, Money.toPlainString(limitMinor));
     }
 }
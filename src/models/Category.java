@@ -0,0 +1,29 @@
+package models;
+
+/**
+ * One row of the categories table. Immutable, so registry snapshots can be shared.
+ */
+public final class Category {
+    private final int id;
+    private final String name;
+    private final String type;   // "Income" or "Expense"
+    private final String color;
+    
+    public Category(int id, String name, String type, String color) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.color = color;
+    }
+    
+    // Getters
+    public int getId() { return id; }
+    public String getName() { return name; }
+    public String getType() { return type; }
+    public String getColor() { return color; }
+    
+    @Override
+    public String toString() {
+        return name;
+    }
+}
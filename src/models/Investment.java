@@ -4,7 +4,7 @@ public class Investment {
     private int id;
     private String name;
     private String category;
-    private double amount;
+    private long amountMinor;  // Exact amount in minor units (see Money)
     private String startDate;
     private String frequency;
     private Integer dayOfMonth;
@@ -17,7 +17,7 @@ public class Investment {
         this.id = id;
         this.name = name;
         this.category = category;
-        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount);
         this.startDate = startDate;
         this.frequency = frequency;
         this.dayOfMonth = dayOfMonth;
@@ -30,7 +30,7 @@ public class Investment {
     public Investment(String name, String category, double amount, String startDate, String frequency, Integer dayOfMonth, String maturityDate, Double interestRate) {
         this.name = name;
         this.category = category;
-        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount);
         this.startDate = startDate;
         this.frequency = frequency;
         this.dayOfMonth = dayOfMonth;
@@ -65,11 +65,19 @@ public class Investment {
     }
     
     public double getAmount() {
-        return amount;
+        return Money.toMajor(amountMinor);
+    }
+    
+    public long getAmountMinor() {
+        return amountMinor;
     }
     
     public void setAmount(double amount) {
-        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount);
+    }
+    
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
     }
     
     public String getStartDate() {
@@ -0,0 +1,142 @@
+package models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money: a whole number of minor units (paise, cents) plus a currency code.
+ * WHY: Doubles cannot represent most decimal amounts, so long-running double totals drift
+ * and disagree with SQL SUMs. Stored as INTEGER and summed as longs, totals are exact.
+ *
+ * Aggregation loops should use the static long helpers (add, toMajor, percent) and keep
+ * raw minor units; a Money instance is for passing a single amount around whole.
+ */
+public final class Money implements Comparable<Money> {
+    /** Minor units per major unit. Every stored amount uses two decimal places. */
+    public static final int SCALE = 100;
+    public static final String DEFAULT_CURRENCY = "INR";
+    public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+    
+    private final long minorUnits;
+    private final String currency;
+    
+    private Money(long minorUnits, String currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+    
+    public static Money ofMinor(long minorUnits) {
+        return ofMinor(minorUnits, DEFAULT_CURRENCY);
+    }
+    
+    public static Money ofMinor(long minorUnits, String currency) {
+        return minorUnits == 0 && DEFAULT_CURRENCY.equals(currency) ? ZERO : new Money(minorUnits, currency);
+    }
+    
+    /**
+     * Parse a decimal amount such as "1234.5" exactly, rounding half-up to two places.
+     * @throws NumberFormatException if the text is not a number or does not fit
+     */
+    public static Money parse(String text) {
+        return ofMinor(parseMinor(text));
+    }
+    
+    /**
+     * Same as parse, returning the minor units directly.
+     * @throws NumberFormatException if the text is not a number or does not fit
+     */
+    public static long parseMinor(String text) {
+        try {
+            return new BigDecimal(text.trim()).setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("amount out of range: " + text);
+        }
+    }
+    
+    /**
+     * Nearest minor units for a double amount, for callers that still hold doubles.
+     */
+    public static long toMinor(double major) {
+        return Math.round(major * SCALE);
+    }
+    
+    /**
+     * Minor units as a double in major units, for display and ratios only.
+     */
+    public static double toMajor(long minorUnits) {
+        return minorUnits / (double) SCALE;
+    }
+    
+    /**
+     * Overflow-checked sum of two minor-unit amounts.
+     */
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+    
+    /**
+     * part as a percentage of whole, or 0 when whole is 0.
+     */
+    public static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+    
+    /**
+     * Minor units as a plain decimal string, e.g. 123450 becomes "1234.50".
+     */
+    public static String toPlainString(long minorUnits) {
+        long major = Math.abs(minorUnits / SCALE);
+        long minor = Math.abs(minorUnits % SCALE);
+        return (minorUnits < 0 ? "-" : "") + major + (minor < 10 ? ".0" : ".") + minor;
+    }
+    
+    // Getters
+    public long getMinorUnits() { return minorUnits; }
+    public String getCurrency() { return currency; }
+    public double toMajor() { return toMajor(minorUnits); }
+    public boolean isNegative() { return minorUnits < 0; }
+    
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return ofMinor(add(minorUnits, other.minorUnits), currency);
+    }
+    
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+    
+    public Money negate() {
+        return ofMinor(Math.negateExact(minorUnits), currency);
+    }
+    
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        Money other = (Money) o;
+        return minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+    
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return toPlainString(minorUnits) + " " + currency;
+    }
+}
@@ -0,0 +1,127 @@
+package models;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+
+/**
+ * Income, expense and per-category totals in consecutive date buckets, as primitive arrays.
+ * Immutable so one series can be cached and shared by every chart.
+ * Amounts are minor units (see Money); index i of every array is bucket i.
+ */
+public final class TimeSeries {
+    public static final String[] NO_CATEGORIES = new String[0];
+    
+    /**
+     * Bucket size. Weeks start on Monday.
+     */
+    public enum Granularity {
+        DAY, WEEK, MONTH, YEAR;
+        
+        /** First day of the bucket containing date. */
+        public LocalDate bucketStart(LocalDate date) {
+            switch (this) {
+                case WEEK: return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH: return date.withDayOfMonth(1);
+                case YEAR: return date.withDayOfYear(1);
+                default: return date;
+            }
+        }
+        
+        /** First day of the bucket after the one starting at start. */
+        public LocalDate next(LocalDate start) {
+            switch (this) {
+                case WEEK: return start.plusWeeks(1);
+                case MONTH: return start.plusMonths(1);
+                case YEAR: return start.plusYears(1);
+                default: return start.plusDays(1);
+            }
+        }
+        
+        /** Chart label for the bucket starting at start, e.g. "2025-03" for a month. */
+        public String label(LocalDate start) {
+            switch (this) {
+                case MONTH: return start.toString().substring(0, 7);
+                case YEAR: return String.valueOf(start.getYear());
+                default: return start.toString();
+            }
+        }
+    }
+    
+    private final Granularity granularity;
+    private final int[] bucketStarts;           // Epoch days
+    private final long[] income;
+    private final long[] expenses;
+    private final String[] categoryTypes;
+    private final String[] categoryNames;
+    private final long[][] categoryTotals;      // [category][bucket], highest overall total first
+    
+    /**
+     * Arrays are taken as-is; the caller must not modify them afterwards.
+     * Category entries are parallel: categoryTypes[c], categoryNames[c] and categoryTotals[c].
+     */
+    public TimeSeries(Granularity granularity, int[] bucketStarts, long[] income, long[] expenses,
+                      String[] categoryTypes, String[] categoryNames, long[][] categoryTotals) {
+        this.granularity = granularity;
+        this.bucketStarts = bucketStarts;
+        this.income = income;
+        this.expenses = expenses;
+        this.categoryTypes = categoryTypes;
+        this.categoryNames = categoryNames;
+        this.categoryTotals = categoryTotals;
+    }
+    
+    /** A series with no buckets. */
+    public static TimeSeries empty(Granularity granularity) {
+        return new TimeSeries(granularity, new int[0], new long[0], new long[0],
+            NO_CATEGORIES, NO_CATEGORIES, new long[0][]);
+    }
+    
+    // Getters; arrays are copies
+    public Granularity getGranularity() { return granularity; }
+    public int size() { return bucketStarts.length; }
+    public LocalDate getBucketStart(int bucket) { return LocalDate.ofEpochDay(bucketStarts[bucket]); }
+    public String getLabel(int bucket) { return granularity.label(getBucketStart(bucket)); }
+    public long[] getIncome() { return income.clone(); }
+    public long[] getExpenses() { return expenses.clone(); }
+    
+    /** Income minus expenses per bucket. */
+    public long[] getNet() {
+        long[] net = new long[income.length];
+        for (int i = 0; i < net.length; i++) {
+            net[i] = income[i] - expenses[i];
+        }
+        return net;
+    }
+    
+    /**
+     * Categories with transactions of this type in the series, highest total first.
+     */
+    public String[] getCategories(String type) {
+        return Arrays.stream(indexesOf(type)).mapToObj(c -> categoryNames[c]).toArray(String[]::new);
+    }
+    
+    /**
+     * Totals per bucket for one category of one type; all zero if it has none.
+     */
+    public long[] getCategoryTotals(String type, String category) {
+        for (int c : indexesOf(type)) {
+            if (categoryNames[c].equals(category)) {
+                return categoryTotals[c].clone();
+            }
+        }
+        return new long[bucketStarts.length];
+    }
+    
+    private int[] indexesOf(String type) {
+        int[] matches = new int[categoryTypes.length];
+        int count = 0;
+        for (int c = 0; c < categoryTypes.length; c++) {
+            if (categoryTypes[c].equals(type)) {
+                matches[count++] = c;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+}
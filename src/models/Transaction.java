@@ -4,7 +4,7 @@ public class Transaction {
     private int id;
     private String type;
     private String category;
-    private double amount;
+    private long amountMinor;  // Exact amount in minor units (see Money)
     private String date;
     private String notes;
     private String source;
@@ -14,7 +14,7 @@ public class Transaction {
         this.id = id;
         this.type = type;
         this.category = category;
-        this.amount = amount;
+        this.amountMinor = Money.toMinor(amount);
         this.date = date;
         this.notes = notes;
         this.source = source;
@@ -22,19 +22,25 @@ public class Transaction {
     
     // Constructor without id (for new transactions)
     public Transaction(String type, String category, double amount, String date, String notes, String source) {
-        this.type = type;
-        this.category = category;
-        this.amount = amount;
-        this.date = date;
-        this.notes = notes;
-        this.source = source;
+        this(0, type, category, amount, date, notes, source);
+    }
+    
+    // Exact constructors, for amounts read from the database or parsed from text
+    public Transaction(int id, String type, String category, Money amount, String date, String notes, String source) {
+        this(id, type, category, 0, date, notes, source);
+        this.amountMinor = amount.getMinorUnits();
+    }
+    
+    public Transaction(String type, String category, Money amount, String date, String notes, String source) {
+        this(0, type, category, amount, date, notes, source);
     }
     
     // Getters
     public int getId() { return id; }
     public String getType() { return type; }
     public String getCategory() { return category; }
-    public double getAmount() { return amount; }
+    public double getAmount() { return Money.toMajor(amountMinor); }
+    public long getAmountMinor() { return amountMinor; }
     public String getDate() { return date; }
     public String getNotes() { return notes; }
     public String getSource() { return source; }
@@ -43,13 +49,14 @@ public class Transaction {
     public void setId(int id) { this.id = id; }
     public void setType(String type) { this.type = type; }
     public void setCategory(String category) { this.category = category; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public void setAmount(double amount) { this.amountMinor = Money.toMinor(amount); }
+    public void setAmountMinor(long amountMinor) { this.amountMinor = amountMinor; }
     public void setDate(String date) { this.date = date; }
     public void setNotes(String notes) { this.notes = notes; }
     public void setSource(String source) { this.source = source; }
     
     @Override
     public String toString() {
-        return String.format("%s: %s - $%.2f (%s)", type, category, amount, date);
+        return String.format("%s: %s - $%s (%s)", type, category, Money.toPlainString(amountMinor), date);
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package models;
+
+/**
+ * Income, expense and count totals for a period, computed in a single query.
+ * Immutable so one snapshot can be shared by every widget on a refresh.
+ * Sums are kept in exact minor units; the double getters are for display.
+ */
+public final class TransactionTotals {
+    public static final TransactionTotals EMPTY = new TransactionTotals(0L, 0L, 0);
+    
+    private final long incomeMinor;
+    private final long expensesMinor;
+    private final int count;
+    
+    public TransactionTotals(long incomeMinor, long expensesMinor, int count) {
+        this.incomeMinor = incomeMinor;
+        this.expensesMinor = expensesMinor;
+        this.count = count;
+    }
+    
+    // Getters
+    public long getIncomeMinor() { return incomeMinor; }
+    public long getExpensesMinor() { return expensesMinor; }
+    public long getBalanceMinor() { return incomeMinor - expensesMinor; }
+    public double getIncome() { return Money.toMajor(incomeMinor); }
+    public double getExpenses() { return Money.toMajor(expensesMinor); }
+    public double getBalance() { return Money.toMajor(getBalanceMinor()); }
+    public int getCount() { return count; }
+    
+    @Override
+    public String toString() {
+        return String.format("Income: $%s, Expenses: $%s, Balance: $%s (%d transactions)",
+            Money.toPlainString(incomeMinor), Money.toPlainString(expensesMinor),
+            Money.toPlainString(getBalanceMinor()), count);
+    }
+}
@@ -0,0 +1,253 @@
+package service;
+
+import database.AIResponseCacheDAO;
+import database.AIResponseCacheDAO.CachedResponse;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Answers to AI questions, reused while the question and the financial data are unchanged.
+ * WHY: Users ask the same few questions again and again; a hit returns instantly instead
+ * of paying a remote round-trip and tokens for an answer we already have.
+ *
+ * Keyed by provider, model, the normalized question and a SHA-256 of the context JSON.
+ * Any change to the data changes the context hash, and the first lookup with a new hash
+ * drops every answer computed against the old one. Entries also expire after a TTL and
+ * the least recently used are evicted beyond a size limit.
+ *
+ * Settings in config.properties: ai_cache_max_entries (default 200), ai_cache_ttl_minutes
+ * (default 1440) and ai_cache_persist (default true; keeps answers in SQLite across restarts).
+ */
+public final class AIResponseCache {
+    private static final int DEFAULT_MAX_ENTRIES = 200;
+    private static final int DEFAULT_TTL_MINUTES = 24 * 60;
+    
+    /**
+     * Identifies one question against one context
+     */
+    public static final class Key {
+        private final String provider;
+        private final String model;
+        private final String question;
+        private final String contextHash;
+        private final String digest;
+        
+        private Key(String provider, String model, String question, String contextHash) {
+            this.provider = provider;
+            this.model = model;
+            this.question = question;
+            this.contextHash = contextHash;
+            this.digest = sha256(provider + '\0' + model + '\0' + question + '\0' + contextHash);
+        }
+        
+        public String getContextHash() { return contextHash; }
+    }
+    
+    private static final class Entry {
+        final String contextHash;
+        final String response;
+        final long createdAt;
+        
+        Entry(String contextHash, String response, long createdAt) {
+            this.contextHash = contextHash;
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+    
+    private static AIResponseCache instance;
+    
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final AIResponseCacheDAO dao;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries;
+    private String contextHash;
+    private long hits = 0;
+    private long misses = 0;
+    
+    /**
+     * @param dao Where answers persist, or null to keep them in memory only
+     */
+    AIResponseCache(int maxEntries, Duration ttl, AIResponseCacheDAO dao, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+        this.dao = dao;
+        this.clock = clock;
+        // Access order, so the eldest entry is the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AIResponseCache.this.maxEntries;
+            }
+        };
+    }
+    
+    public static synchronized AIResponseCache getInstance() {
+        if (instance == null) {
+            Properties props = Config.load();
+            int maxEntries = Config.readInt(props, "ai_cache_max_entries", DEFAULT_MAX_ENTRIES, 0);
+            int ttlMinutes = Config.readInt(props, "ai_cache_ttl_minutes", DEFAULT_TTL_MINUTES, 0);
+            boolean persist = Boolean.parseBoolean(props.getProperty("ai_cache_persist", "true").trim());
+            instance = new AIResponseCache(maxEntries, Duration.ofMinutes(ttlMinutes),
+                persist ? new AIResponseCacheDAO() : null, Clock.systemUTC());
+        }
+        return instance;
+    }
+    
+    /**
+     * A cache kept in memory only, for services pointed at test endpoints
+     */
+    static AIResponseCache inMemory() {
+        return new AIResponseCache(DEFAULT_MAX_ENTRIES, Duration.ofMinutes(DEFAULT_TTL_MINUTES), null,
+            Clock.systemUTC());
+    }
+    
+    /**
+     * Build the key for a question. Hashing the context costs a serialization of the JSON,
+     * so build it once per question and pass it to both get and put.
+     */
+    public Key key(String provider, String model, String question, JSONObject context) {
+        return new Key(provider, model, normalize(question), sha256(canonicalJson(context)));
+    }
+    
+    /**
+     * @return The cached answer, or null on a miss
+     */
+    public synchronized String get(Key key) {
+        switchContext(key.contextHash);
+        long now = clock.millis();
+        Entry entry = entries.get(key.digest);
+        if (entry != null && now - entry.createdAt >= ttlMillis) {
+            entries.remove(key.digest);
+            entry = null;
+        }
+        if (entry == null && dao != null) {
+            CachedResponse row = dao.find(key.digest);
+            if (row != null && row.getContextHash().equals(key.contextHash) && now - row.getCreatedAt() < ttlMillis) {
+                entry = new Entry(row.getContextHash(), row.getResponse(), row.getCreatedAt());
+                entries.put(key.digest, entry);
+            }
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.response;
+    }
+    
+    /**
+     * Remember an answer. Only pass real answers, never error or configuration messages.
+     */
+    public synchronized void put(Key key, String response) {
+        if (response == null || response.isBlank() || maxEntries <= 0) {
+            return;
+        }
+        switchContext(key.contextHash);
+        long now = clock.millis();
+        entries.put(key.digest, new Entry(key.contextHash, response, now));
+        if (dao != null) {
+            dao.save(key.digest, key.contextHash, key.provider, key.model, key.question, response, now);
+            dao.prune(key.contextHash, now - ttlMillis, maxEntries);
+        }
+    }
+    
+    /**
+     * Forget every answer, in memory and on disk
+     */
+    public synchronized void clear() {
+        entries.clear();
+        if (dao != null) {
+            dao.clear();
+        }
+    }
+    
+    public synchronized String getStats() {
+        return String.format("AIResponseCache: %d hits, %d misses, %d entries", hits, misses, entries.size());
+    }
+    
+    /**
+     * The data changed since the cached answers were computed; they no longer apply
+     */
+    private void switchContext(String hash) {
+        if (hash.equals(contextHash)) {
+            return;
+        }
+        contextHash = hash;
+        entries.values().removeIf(entry -> !entry.contextHash.equals(hash));
+        if (dao != null) {
+            dao.prune(hash, clock.millis() - ttlMillis, maxEntries);
+        }
+    }
+    
+    /**
+     * Case, accents, punctuation and spacing do not change the question:
+     * "Am I over budget this month?" and "am i over budget this month" share an answer.
+     */
+    static String normalize(String question) {
+        String text = Normalizer.normalize(question == null ? "" : question, Normalizer.Form.NFKD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT);
+        return text.replaceAll("[^\\p{L}\\p{N}%]+", " ").trim();
+    }
+    
+    /**
+     * JSON with object keys sorted, so equal contexts hash equally whatever their key order
+     */
+    static String canonicalJson(Object value) {
+        StringBuilder out = new StringBuilder();
+        writeCanonical(value, out);
+        return out.toString();
+    }
+    
+    private static void writeCanonical(Object value, StringBuilder out) {
+        if (value instanceof JSONObject object) {
+            List<String> names = new ArrayList<>(object.keySet());
+            names.sort(null);
+            out.append('{');
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(JSONObject.quote(names.get(i))).append(':');
+                writeCanonical(object.opt(names.get(i)), out);
+            }
+            out.append('}');
+        } else if (value instanceof JSONArray array) {
+            out.append('[');
+            for (int i = 0; i < array.length(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeCanonical(array.opt(i), out);
+            }
+            out.append(']');
+        } else {
+            out.append(JSONObject.valueToString(value));
+        }
+    }
+    
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
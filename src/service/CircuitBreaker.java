@@ -0,0 +1,77 @@
+package service;
+
+import java.time.Duration;
+
+/**
+ * Stops calling a provider that keeps failing, then lets one trial request through
+ * after a cool-down.
+ * WHY: A provider that times out after 30 s would otherwise cost every question 30 s
+ * before failover; an open breaker skips straight to the next provider.
+ *
+ * Closed: requests flow, consecutive failures are counted. Open: requests are refused
+ * until the cool-down ends. Half-open: a single trial runs; success closes the breaker,
+ * failure opens it again.
+ */
+public final class CircuitBreaker {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt = 0;
+    private boolean trialRunning = false;
+    
+    /**
+     * @param failureThreshold Consecutive failures that open the breaker
+     * @param openDuration How long to refuse requests before a trial
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+    }
+    
+    /**
+     * @return true if a request may be sent now; in half-open state only the first caller gets true
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+            trialRunning = false;
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (trialRunning) {
+                    return false;
+                }
+                trialRunning = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    public synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialRunning = false;
+    }
+    
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialRunning = false;
+        }
+    }
+    
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+}
@@ -0,0 +1,52 @@
+package service;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Reads tuning settings from config.properties for the service classes.
+ */
+final class Config {
+    static final String CONFIG_FILE = "config.properties";
+    
+    private Config() {
+    }
+    
+    /**
+     * @return The settings, or empty properties if the file is missing or unreadable
+     */
+    static Properties load() {
+        Properties props = new Properties();
+        File configFile = new File(CONFIG_FILE);
+        if (configFile.exists()) {
+            try (FileInputStream fis = new FileInputStream(configFile)) {
+                props.load(fis);
+            } catch (IOException e) {
+                System.err.println("Error loading config: " + e.getMessage());
+            }
+        }
+        return props;
+    }
+    
+    /**
+     * @return The integer under key, or defaultValue if it is unset, not a number or below min
+     */
+    static int readInt(Properties props, String key, int defaultValue, int min) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed >= min) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Invalid " + key + ": " + value);
+        return defaultValue;
+    }
+}
@@ -3,17 +3,16 @@ package service;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * GeminiService - Integration with Google's Gemini AI API
  * WHY: Provides intelligent financial advice using Gemini 1.5 Flash model
  */
-public class GeminiService {
-    private static final String GEMINI_API_BASE = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash:generateContent";
+public class GeminiService implements LLMProvider {
+    private static final String GEMINI_API_BASE = "https://generativelanguage.googleapis.com/v1beta/models/gemini-1.5-flash";
     private static final String CONFIG_FILE = "config.properties";
     
     private static final String SYSTEM_PROMPT = """
@@ -27,13 +26,28 @@ public class GeminiService {
         If data is missing, mention it clearly instead of making assumptions.
         """;
     
+    private final HttpTransport transport = HttpTransport.getInstance();
+    private final String apiBase;
+    private final AIResponseCache cache;
     private String apiKey;
     private boolean enabled;
     
     public GeminiService() {
+        this.apiBase = GEMINI_API_BASE;
+        this.cache = AIResponseCache.getInstance();
         loadConfig();
     }
     
+    /**
+     * Fixed key and model endpoint instead of config.properties, for tests against a stub server
+     */
+    GeminiService(String apiKey, String apiBase) {
+        this.apiBase = apiBase;
+        this.cache = AIResponseCache.inMemory();
+        this.apiKey = apiKey;
+        this.enabled = apiKey != null && !apiKey.isEmpty();
+    }
+    
     /**
      * Load configuration from config.properties
      */
@@ -63,9 +77,15 @@ public class GeminiService {
         loadConfig();
     }
     
+    @Override
+    public String getName() {
+        return "Gemini";
+    }
+    
     /**
      * Check if Gemini service is configured and ready
      */
+    @Override
     public boolean isEnabled() {
         return enabled && apiKey != null && !apiKey.isEmpty();
     }
@@ -91,6 +111,77 @@ public class GeminiService {
             return getConfigMessage();
         }
         
+        AIResponseCache.Key key = cacheKey(userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String response = transport.postJson("Gemini", apiUrl(), Map.of(),
+            buildRequestBody(userQuestion, financialContext).toString());
+        return answer(key, response);
+    }
+    
+    /**
+     * As askGemini, without blocking the caller
+     */
+    public CompletableFuture<String> askGeminiAsync(String userQuestion, JSONObject financialContext) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(getConfigMessage());
+        }
+        AIResponseCache.Key key = cacheKey(userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return transport.postJsonAsync("Gemini", apiUrl(), Map.of(),
+                buildRequestBody(userQuestion, financialContext).toString())
+            .thenApply(response -> answer(key, response));
+    }
+    
+    /**
+     * Ask Gemini and receive the reply as it is generated
+     * WHY: The first words show within a second instead of after the whole reply
+     * A cached answer is delivered as a single piece.
+     * @param callback Receives each piece of text, on an HTTP client thread
+     * @return The complete reply once the stream ends
+     */
+    public CompletableFuture<String> streamGemini(String userQuestion, JSONObject financialContext,
+                                                  TokenCallback callback) {
+        if (!isEnabled()) {
+            String message = getConfigMessage();
+            callback.onToken(message);
+            return CompletableFuture.completedFuture(message);
+        }
+        AIResponseCache.Key key = cacheKey(userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            callback.onToken(cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+        StringBuilder reply = new StringBuilder();
+        return transport.postJsonStream("Gemini", apiBase + ":streamGenerateContent?alt=sse&key=" + apiKey, Map.of(),
+                buildRequestBody(userQuestion, financialContext).toString(), data -> {
+                    String text = parseGeminiChunk(data);
+                    if (!text.isEmpty()) {
+                        reply.append(text);
+                        callback.onToken(text);
+                    }
+                })
+            .thenApply(done -> {
+                cache.put(key, reply.toString());
+                return reply.toString();
+            });
+    }
+    
+    @Override
+    public CompletableFuture<String> ask(String question, JSONObject context, TokenCallback callback) {
+        return streamGemini(question, context, callback);
+    }
+    
+    /**
+     * Request payload for one question: system prompt, then the question with context
+     */
+    private JSONObject buildRequestBody(String userQuestion, JSONObject financialContext) {
         // Build the full prompt with context
         String fullPrompt = buildPromptWithContext(userQuestion, financialContext);
         
@@ -120,11 +211,7 @@ public class GeminiService {
         generationConfig.put("maxOutputTokens", 800);
         requestBody.put("generationConfig", generationConfig);
         
-        // Make API request
-        String response = callGeminiAPI(requestBody);
-        
-        // Parse and return response
-        return parseGeminiResponse(response);
+        return requestBody;
     }
     
     /**
@@ -139,57 +226,44 @@ public class GeminiService {
         return prompt.toString();
     }
     
+    private AIResponseCache.Key cacheKey(String userQuestion, JSONObject financialContext) {
+        String model = apiBase.substring(apiBase.lastIndexOf('/') + 1);
+        return cache.key("Gemini", model, userQuestion, financialContext);
+    }
+    
     /**
-     * Call Gemini API endpoint
+     * Parse a response, caching it only if it held an answer
      */
-    private String callGeminiAPI(JSONObject payload) throws IOException {
-        String urlString = GEMINI_API_BASE + "?key=" + apiKey;
-        URL url = new URL(urlString);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setDoOutput(true);
-        conn.setConnectTimeout(10000);
-        conn.setReadTimeout(30000);
-        
-        // Send request
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = payload.toString().getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
-        }
-        
-        // Read response
-        int responseCode = conn.getResponseCode();
-        
-        if (responseCode == 200) {
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-                StringBuilder response = new StringBuilder();
-                String responseLine;
-                while ((responseLine = br.readLine()) != null) {
-                    response.append(responseLine.trim());
-                }
-                return response.toString();
-            }
-        } else {
-            // Read error response
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8))) {
-                StringBuilder error = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    error.append(line);
-                }
-                throw new IOException("Gemini API error (code " + responseCode + "): " + error.toString());
-            }
+    private String answer(AIResponseCache.Key key, String jsonResponse) {
+        String text = extractText(jsonResponse);
+        if (text == null) {
+            return parseGeminiResponse(jsonResponse);
         }
+        cache.put(key, text);
+        return text;
+    }
+    
+    private String apiUrl() {
+        return apiBase + ":generateContent?key=" + apiKey;
     }
     
     /**
      * Parse Gemini API response
      */
     private String parseGeminiResponse(String jsonResponse) {
+        String text = extractText(jsonResponse);
+        if (text != null) {
+            return text;
+        }
+        
+        // Fallback if structure is different
+        return "Unable to parse AI response. Raw response: " + jsonResponse;
+    }
+    
+    /**
+     * @return The answer text, or null if the response holds none
+     */
+    private String extractText(String jsonResponse) {
         try {
             JSONObject root = new JSONObject(jsonResponse);
             
@@ -212,13 +286,33 @@ public class GeminiService {
                     }
                 }
             }
-            
-            // Fallback if structure is different
-            return "Unable to parse AI response. Raw response: " + jsonResponse;
-            
+            return null;
         } catch (Exception e) {
-            return "Error parsing AI response: " + e.getMessage();
+            return null;
+        }
+    }
+    
+    /**
+     * Text of one streamed chunk; chunks have the same shape as a full response
+     * @throws IllegalStateException if the stream reports an error
+     */
+    private String parseGeminiChunk(String json) {
+        JSONObject root = new JSONObject(json);
+        if (root.has("error")) {
+            throw new IllegalStateException("Gemini API error: "
+                + root.getJSONObject("error").optString("message", "Unknown error"));
+        }
+        JSONArray candidates = root.optJSONArray("candidates");
+        if (candidates == null || candidates.length() == 0) {
+            return "";
+        }
+        JSONObject content = candidates.getJSONObject(0).optJSONObject("content");
+        JSONArray parts = content == null ? null : content.optJSONArray("parts");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; parts != null && i < parts.length(); i++) {
+            text.append(parts.getJSONObject(i).optString("text", ""));
         }
+        return text.toString();
     }
     
     /**
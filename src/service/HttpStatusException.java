@@ -0,0 +1,33 @@
+package service;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * A provider answered with a non-2xx status.
+ * Carries the status, the error body and any Retry-After hint, so callers can tell
+ * rate limits and server errors (worth retrying) from bad requests and bad keys (not).
+ */
+public class HttpStatusException extends IOException {
+    private final int statusCode;
+    private final String body;
+    private final Duration retryAfter;
+    
+    public HttpStatusException(String service, int statusCode, String body, Duration retryAfter) {
+        super(service + " API error (code " + statusCode + "): " + body);
+        this.statusCode = statusCode;
+        this.body = body;
+        this.retryAfter = retryAfter;
+    }
+    
+    public int getStatusCode() { return statusCode; }
+    public String getBody() { return body; }
+    
+    /** How long the server asked us to wait, or null if it did not say. */
+    public Duration getRetryAfter() { return retryAfter; }
+    
+    /** 408, 429 and 5xx: the same request may succeed later. */
+    public boolean isRetryable() {
+        return statusCode == 408 || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,235 @@
+package service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * One shared HTTP client for every LLM provider.
+ * WHY: A fresh HttpURLConnection per question paid DNS, TCP and TLS setup every time.
+ * The shared java.net.http client keeps connections alive between questions and
+ * multiplexes concurrent requests to the same host over one HTTP/2 connection.
+ *
+ * Responses are requested gzip-compressed and decoded here. Non-2xx answers fail with
+ * HttpStatusException. Timeouts come from config.properties:
+ * http_connect_timeout_seconds (default 10) and http_request_timeout_seconds (default 60).
+ */
+public final class HttpTransport {
+    private static final int DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+    private static final int DEFAULT_REQUEST_TIMEOUT_SECONDS = 60;
+    
+    private static HttpTransport instance;
+    
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    
+    private HttpTransport(Duration connectTimeout, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.requestTimeout = requestTimeout;
+    }
+    
+    public static synchronized HttpTransport getInstance() {
+        if (instance == null) {
+            Properties props = Config.load();
+            instance = new HttpTransport(
+                Duration.ofSeconds(Config.readInt(props, "http_connect_timeout_seconds", DEFAULT_CONNECT_TIMEOUT_SECONDS, 1)),
+                Duration.ofSeconds(Config.readInt(props, "http_request_timeout_seconds", DEFAULT_REQUEST_TIMEOUT_SECONDS, 1)));
+        }
+        return instance;
+    }
+    
+    /**
+     * POST a JSON body and return the response body.
+     * @param service Provider name for error messages, e.g. "Gemini"
+     * @throws HttpStatusException for a non-2xx status
+     * @throws IOException if the request could not be sent or timed out
+     */
+    public String postJson(String service, String url, Map<String, String> headers, String json) throws IOException {
+        try {
+            return decode(service, client.send(buildRequest(url, headers, json), HttpResponse.BodyHandlers.ofByteArray()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(service + " request interrupted", e);
+        }
+    }
+    
+    /**
+     * As postJson, without blocking the caller; the future fails with the same exceptions.
+     */
+    public CompletableFuture<String> postJsonAsync(String service, String url, Map<String, String> headers, String json) {
+        return client.sendAsync(buildRequest(url, headers, json), HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(response -> {
+                try {
+                    return decode(service, response);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+    }
+    
+    /**
+     * POST a JSON body and read the response as server-sent events, handing each event's
+     * data to onData as it arrives. The request timeout covers the response headers only,
+     * so long replies are not cut off.
+     * @return Completes when the stream ends; fails with HttpStatusException for a
+     *         non-2xx status, or with whatever onData threw
+     */
+    public CompletableFuture<Void> postJsonStream(String service, String url, Map<String, String> headers,
+                                                  String json, Consumer<String> onData) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        EventSubscriber events = new EventSubscriber(onData, result);
+        HttpResponse.BodyHandler<String> handler = info -> info.statusCode() >= 200 && info.statusCode() < 300
+            ? HttpResponse.BodySubscribers.fromLineSubscriber(events, subscriber -> null, StandardCharsets.UTF_8, null)
+            : HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+        client.sendAsync(buildRequest(url, headers, json, false), handler)
+            .whenComplete((response, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                } else if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                    result.completeExceptionally(new HttpStatusException(service, response.statusCode(),
+                        response.body(), parseRetryAfter(response.headers())));
+                } else {
+                    result.complete(null);
+                }
+            });
+        return result;
+    }
+    
+    private HttpRequest buildRequest(String url, Map<String, String> headers, String json) {
+        return buildRequest(url, headers, json, true);
+    }
+    
+    /**
+     * @param compressed Ask for gzip; streams are left uncompressed so every event flushes
+     */
+    private HttpRequest buildRequest(String url, Map<String, String> headers, String json, boolean compressed) {
+        URI uri = URI.create(url);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .header("Accept", compressed ? "application/json" : "text/event-stream")
+            .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8));
+        if (compressed) {
+            builder.header("Accept-Encoding", "gzip");
+        }
+        if ("http".equalsIgnoreCase(uri.getScheme())) {
+            // HTTP/2 needs TLS in practice; skip the cleartext upgrade dance for local endpoints
+            builder.version(HttpClient.Version.HTTP_1_1);
+        }
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+    
+    private static String decode(String service, HttpResponse<byte[]> response) throws IOException {
+        String body = new String(decompress(response.headers(), response.body()), StandardCharsets.UTF_8);
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            throw new HttpStatusException(service, status, body, parseRetryAfter(response.headers()));
+        }
+        return body;
+    }
+    
+    private static byte[] decompress(HttpHeaders headers, byte[] body) throws IOException {
+        boolean gzip = headers.firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        if (!gzip || body.length == 0) {
+            return body;
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+    
+    /**
+     * Retry-After as delay seconds or an HTTP date; null if absent or unreadable.
+     */
+    static Duration parseRetryAfter(HttpHeaders headers) {
+        String value = headers.firstValue("Retry-After").orElse(null);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // Not seconds; try an HTTP date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Feeds response lines through an SseParser as the client delivers them.
+     * If onData throws, the stream is cancelled and result fails with that error.
+     */
+    private static final class EventSubscriber implements Flow.Subscriber<String> {
+        private final SseParser parser;
+        private final CompletableFuture<Void> result;
+        private Flow.Subscription subscription;
+        
+        EventSubscriber(Consumer<String> onData, CompletableFuture<Void> result) {
+            this.parser = new SseParser(onData);
+            this.result = result;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(String line) {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                parser.line(line);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                subscription.cancel();
+            }
+        }
+        
+        @Override
+        public void onError(Throwable error) {
+            // Reported through the response future
+        }
+        
+        @Override
+        public void onComplete() {
+            try {
+                parser.finish();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package service;
+
+import org.json.JSONObject;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends a question to the first healthy provider and rides out failures on the way.
+ * WHY: Rate limits and overloaded servers are routine for free LLM tiers; without this
+ * a single 429 or a provider hanging for 30 s ended the question with an error.
+ *
+ * Providers are tried in order, skipping any whose circuit breaker is open. A transient
+ * failure (connection error, timeout, 408, 429 or 5xx) is retried on the same provider
+ * up to maxAttempts times, after the server's Retry-After or else a jittered exponential
+ * backoff. Other failures, a Retry-After longer than maxRetryWait, or running out of
+ * attempts move on to the next provider. Once text has reached the caller a failure is
+ * final, since a retry would repeat what the user already sees.
+ *
+ * Hedging is off by default. With a hedge percentile set, a provider that has not started
+ * answering after that percentile of its recent time-to-first-token gets a second,
+ * identical request; whichever answers first is used and the other is abandoned.
+ */
+public final class LLMPipeline {
+    private static final int LATENCY_SAMPLES = 50;
+    private static final int MIN_HEDGE_SAMPLES = 10;
+    // Owner of an attempt that failed or timed out; late replies cannot claim it
+    private static final Object ABANDONED = new Object();
+    
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "llm-pipeline");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private volatile List<LLMProvider> providers = List.of();
+    private final Map<String, ProviderState> states = new ConcurrentHashMap<>();
+    private int maxAttempts = 3;
+    private Duration baseDelay = Duration.ofMillis(500);
+    private Duration maxDelay = Duration.ofSeconds(8);
+    private Duration maxRetryWait = Duration.ofSeconds(20);
+    private Duration attemptTimeout = Duration.ofSeconds(30);
+    private int failureThreshold = 3;
+    private Duration openDuration = Duration.ofSeconds(30);
+    private double hedgePercentile = 0;
+    
+    /**
+     * A pipeline tuned from config.properties: llm_max_attempts (default 3),
+     * llm_attempt_timeout_seconds (30), llm_breaker_failures (3), llm_breaker_open_seconds (30)
+     * and llm_hedge_percentile (0, off).
+     */
+    public static LLMPipeline fromConfig() {
+        Properties props = Config.load();
+        LLMPipeline pipeline = new LLMPipeline();
+        pipeline.maxAttempts = Config.readInt(props, "llm_max_attempts", pipeline.maxAttempts, 1);
+        pipeline.attemptTimeout = Duration.ofSeconds(
+            Config.readInt(props, "llm_attempt_timeout_seconds", (int) pipeline.attemptTimeout.toSeconds(), 1));
+        pipeline.failureThreshold = Config.readInt(props, "llm_breaker_failures", pipeline.failureThreshold, 1);
+        pipeline.openDuration = Duration.ofSeconds(
+            Config.readInt(props, "llm_breaker_open_seconds", (int) pipeline.openDuration.toSeconds(), 0));
+        pipeline.hedgePercentile = Math.min(99, Config.readInt(props, "llm_hedge_percentile", 0, 0));
+        return pipeline;
+    }
+    
+    /**
+     * Providers in order of preference. Breakers and latency history are kept per
+     * provider name, so replacing the list after a settings change keeps them.
+     */
+    public LLMPipeline setProviders(List<LLMProvider> providers) {
+        this.providers = List.copyOf(providers);
+        return this;
+    }
+    
+    /** Attempts per provider, including the first. */
+    public LLMPipeline setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        return this;
+    }
+    
+    /** First retry waits about baseDelay, doubling per retry up to maxDelay. */
+    public LLMPipeline setBackoff(Duration baseDelay, Duration maxDelay) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        return this;
+    }
+    
+    /** Longest Retry-After worth waiting for; longer ones fail over instead. */
+    public LLMPipeline setMaxRetryWait(Duration maxRetryWait) {
+        this.maxRetryWait = maxRetryWait;
+        return this;
+    }
+    
+    /** How long to wait for the first text of a reply before giving up on an attempt. */
+    public LLMPipeline setAttemptTimeout(Duration attemptTimeout) {
+        this.attemptTimeout = attemptTimeout;
+        return this;
+    }
+    
+    /** Applies to providers the pipeline has not called yet. */
+    public LLMPipeline setCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        return this;
+    }
+    
+    /**
+     * @param percentile e.g. 95 to hedge requests slower than 95% of recent ones; 0 turns hedging off
+     */
+    public LLMPipeline setHedgePercentile(double percentile) {
+        this.hedgePercentile = percentile;
+        return this;
+    }
+    
+    public boolean isEnabled() {
+        return providers.stream().anyMatch(LLMProvider::isEnabled);
+    }
+    
+    public CircuitBreaker.State getBreakerState(String providerName) {
+        ProviderState state = states.get(providerName);
+        return state == null ? CircuitBreaker.State.CLOSED : state.breaker.getState();
+    }
+    
+    /**
+     * Ask the first healthy provider and stream its reply to callback.
+     * @return The complete reply; fails with the last provider error if none could answer
+     */
+    public CompletableFuture<String> ask(String question, JSONObject context, TokenCallback callback) {
+        Call call = new Call(question, context, callback);
+        call.nextProvider();
+        return call.result;
+    }
+    
+    private ProviderState state(LLMProvider provider) {
+        return states.computeIfAbsent(provider.getName(),
+            name -> new ProviderState(new CircuitBreaker(failureThreshold, openDuration)));
+    }
+    
+    /**
+     * Wait before retry number attempt + 1, or null to fail over instead
+     */
+    private Duration retryDelay(Throwable error, int attempt) {
+        if (error instanceof HttpStatusException status && status.getRetryAfter() != null) {
+            return status.getRetryAfter().compareTo(maxRetryWait) <= 0 ? status.getRetryAfter() : null;
+        }
+        // Equal jitter: half the exponential step, plus a random share of the other half
+        long cap = Math.min(maxDelay.toMillis(), baseDelay.toMillis() << Math.min(attempt - 1, 20));
+        return Duration.ofMillis(cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1));
+    }
+    
+    /**
+     * Worth retrying on the same provider, and a sign the provider is unhealthy
+     */
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof HttpStatusException status) {
+            return status.isRetryable();
+        }
+        return error instanceof IOException;
+    }
+    
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+    
+    /**
+     * One question, moving through providers and attempts
+     */
+    private final class Call {
+        final String question;
+        final JSONObject context;
+        final TokenCallback callback;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final List<LLMProvider> order = providers;
+        final AtomicBoolean replyStarted = new AtomicBoolean(false);
+        int providerIndex = -1;
+        volatile Throwable lastError;
+        
+        Call(String question, JSONObject context, TokenCallback callback) {
+            this.question = question;
+            this.context = context;
+            this.callback = callback;
+        }
+        
+        void nextProvider() {
+            while (++providerIndex < order.size()) {
+                LLMProvider provider = order.get(providerIndex);
+                if (provider.isEnabled() && state(provider).breaker.allowRequest()) {
+                    attempt(provider, 1);
+                    return;
+                }
+            }
+            result.completeExceptionally(lastError != null ? lastError
+                : new IOException("No AI provider is available right now. Please try again shortly."));
+        }
+        
+        void attempt(LLMProvider provider, int number) {
+            ProviderState state = state(provider);
+            new Attempt(provider, state, this).start().whenComplete((reply, error) -> {
+                if (error == null) {
+                    state.breaker.recordSuccess();
+                    result.complete(reply);
+                    return;
+                }
+                Throwable cause = unwrap(error);
+                lastError = cause;
+                boolean transientFailure = isTransient(cause);
+                if (transientFailure) {
+                    state.breaker.recordFailure();
+                } else {
+                    // The provider answered; the request itself was refused (bad key, bad input)
+                    state.breaker.recordSuccess();
+                }
+                if (replyStarted.get()) {
+                    result.completeExceptionally(cause);
+                    return;
+                }
+                if (transientFailure && number < maxAttempts) {
+                    Duration delay = retryDelay(cause, number);
+                    if (delay != null && state.breaker.allowRequest()) {
+                        SCHEDULER.schedule(() -> attempt(provider, number + 1), delay.toMillis(), TimeUnit.MILLISECONDS);
+                        return;
+                    }
+                }
+                nextProvider();
+            });
+        }
+        
+        void forward(String text) {
+            replyStarted.set(true);
+            callback.onToken(text);
+        }
+    }
+    
+    /**
+     * One attempt on one provider: the request, plus its hedge if one is sent.
+     * The first request to produce text owns the attempt; text from the other makes its
+     * callback throw, which cancels that stream.
+     */
+    private final class Attempt {
+        final LLMProvider provider;
+        final ProviderState state;
+        final Call call;
+        final CompletableFuture<String> done = new CompletableFuture<>();
+        final AtomicReference<Object> owner = new AtomicReference<>();
+        final AtomicInteger running = new AtomicInteger();
+        
+        Attempt(LLMProvider provider, ProviderState state, Call call) {
+            this.provider = provider;
+            this.state = state;
+            this.call = call;
+        }
+        
+        CompletableFuture<String> start() {
+            long hedgeAfter = state.percentileNanos(hedgePercentile);
+            launch();
+            if (hedgeAfter > 0) {
+                SCHEDULER.schedule(() -> {
+                    if (owner.get() == null && !done.isDone()) {
+                        launch();
+                    }
+                }, hedgeAfter, TimeUnit.NANOSECONDS);
+            }
+            SCHEDULER.schedule(() -> {
+                if (owner.compareAndSet(null, ABANDONED)) {
+                    done.completeExceptionally(new HttpTimeoutException(provider.getName()
+                        + " did not start answering within " + attemptTimeout.toMillis() + " ms"));
+                }
+            }, attemptTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            return done;
+        }
+        
+        private void launch() {
+            Object id = new Object();
+            long started = System.nanoTime();
+            running.incrementAndGet();
+            CompletableFuture<String> reply;
+            try {
+                reply = provider.ask(call.question, call.context, text -> {
+                    if (owner.get() != id) {
+                        if (!owner.compareAndSet(null, id)) {
+                            throw new CancellationException("Another request is already answering");
+                        }
+                        state.recordLatency(System.nanoTime() - started);
+                    }
+                    call.forward(text);
+                });
+            } catch (RuntimeException e) {
+                reply = CompletableFuture.failedFuture(e);
+            }
+            reply.whenComplete((text, error) -> {
+                int stillRunning = running.decrementAndGet();
+                if (error == null) {
+                    // A reply with no text at all still claims an unowned attempt
+                    if (owner.get() == id || owner.compareAndSet(null, id)) {
+                        done.complete(text);
+                    }
+                } else if (owner.get() == id) {
+                    done.completeExceptionally(error);
+                } else if (stillRunning == 0 && owner.compareAndSet(null, ABANDONED)) {
+                    done.completeExceptionally(error);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Circuit breaker and recent time-to-first-token for one provider
+     */
+    private static final class ProviderState {
+        final CircuitBreaker breaker;
+        private final long[] latencies = new long[LATENCY_SAMPLES];
+        private int count = 0;
+        private int next = 0;
+        
+        ProviderState(CircuitBreaker breaker) {
+            this.breaker = breaker;
+        }
+        
+        synchronized void recordLatency(long nanos) {
+            latencies[next] = nanos;
+            next = (next + 1) % latencies.length;
+            count = Math.min(count + 1, latencies.length);
+        }
+        
+        /**
+         * @return The percentile of recent latencies, or 0 if off or too few samples
+         */
+        synchronized long percentileNanos(double percentile) {
+            if (percentile <= 0 || count < MIN_HEDGE_SAMPLES) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(index, count - 1))];
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package service;
+
+import org.json.JSONObject;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A remote model that answers questions about the user's finances, as used by LLMPipeline.
+ */
+public interface LLMProvider {
+    
+    /** Short name for status messages and per-provider state, e.g. "Gemini". */
+    String getName();
+    
+    boolean isEnabled();
+    
+    /**
+     * Ask and stream the reply.
+     * @param callback Receives each piece of text in order; may throw to abandon the reply
+     * @return The complete reply; fails with HttpStatusException for HTTP errors and
+     *         IOException for connection problems
+     */
+    CompletableFuture<String> ask(String question, JSONObject context, TokenCallback callback);
+}
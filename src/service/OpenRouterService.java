@@ -2,16 +2,15 @@ package service;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * OpenRouterService - Integration with OpenRouter API
  * Allows using various LLMs including Gemini through OpenRouter
  */
-public class OpenRouterService {
+public class OpenRouterService implements LLMProvider {
     private static final String OPENROUTER_API_URL = "https://openrouter.ai/api/v1/chat/completions";
     
     private static final String SYSTEM_PROMPT = """
@@ -25,15 +24,37 @@ public class OpenRouterService {
         If data is missing, mention it clearly instead of making assumptions.
         """;
     
+    private final HttpTransport transport = HttpTransport.getInstance();
+    private final String apiUrl;
+    private final AIResponseCache cache;
     private String apiKey;
     private String model;
     
     public OpenRouterService(String apiKey, String model) {
+        this(apiKey, model, OPENROUTER_API_URL, AIResponseCache.getInstance());
+    }
+    
+    /**
+     * Another OpenAI-compatible endpoint, e.g. a stub server in tests
+     */
+    OpenRouterService(String apiKey, String model, String apiUrl) {
+        this(apiKey, model, apiUrl, AIResponseCache.inMemory());
+    }
+    
+    private OpenRouterService(String apiKey, String model, String apiUrl, AIResponseCache cache) {
+        this.apiUrl = apiUrl;
+        this.cache = cache;
         this.apiKey = apiKey;
         // Use LLaMA 3.3 70B - excellent quality free model
         this.model = model != null ? model : "meta-llama/llama-3.3-70b-instruct:free";
     }
     
+    @Override
+    public String getName() {
+        return "OpenRouter";
+    }
+    
+    @Override
     public boolean isEnabled() {
         return apiKey != null && !apiKey.isEmpty();
     }
@@ -43,6 +64,73 @@ public class OpenRouterService {
             return "OpenRouter API key not configured.";
         }
         
+        AIResponseCache.Key key = cache.key("OpenRouter", model, userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String response = transport.postJson("OpenRouter", apiUrl, headers(),
+            buildRequestBody(userQuestion, financialContext).toString());
+        return answer(key, response);
+    }
+    
+    /**
+     * As ask, without blocking the caller
+     */
+    public CompletableFuture<String> askAsync(String userQuestion, JSONObject financialContext) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture("OpenRouter API key not configured.");
+        }
+        AIResponseCache.Key key = cache.key("OpenRouter", model, userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return transport.postJsonAsync("OpenRouter", apiUrl, headers(),
+                buildRequestBody(userQuestion, financialContext).toString())
+            .thenApply(response -> answer(key, response));
+    }
+    
+    /**
+     * Ask with stream: true and receive the reply as it is generated.
+     * A cached answer is delivered as a single piece.
+     * @param callback Receives each piece of text, on an HTTP client thread
+     * @return The complete reply once the stream ends
+     */
+    public CompletableFuture<String> askStreaming(String userQuestion, JSONObject financialContext,
+                                                  TokenCallback callback) {
+        if (!isEnabled()) {
+            callback.onToken("OpenRouter API key not configured.");
+            return CompletableFuture.completedFuture("OpenRouter API key not configured.");
+        }
+        AIResponseCache.Key key = cache.key("OpenRouter", model, userQuestion, financialContext);
+        String cached = cache.get(key);
+        if (cached != null) {
+            callback.onToken(cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+        JSONObject requestBody = buildRequestBody(userQuestion, financialContext).put("stream", true);
+        StringBuilder reply = new StringBuilder();
+        return transport.postJsonStream("OpenRouter", apiUrl, headers(), requestBody.toString(), data -> {
+                String text = parseDelta(data);
+                if (!text.isEmpty()) {
+                    reply.append(text);
+                    callback.onToken(text);
+                }
+            })
+            .thenApply(done -> {
+                String text = reply.toString().trim();
+                cache.put(key, text);
+                return text;
+            });
+    }
+    
+    @Override
+    public CompletableFuture<String> ask(String question, JSONObject context, TokenCallback callback) {
+        return askStreaming(question, context, callback);
+    }
+    
+    private JSONObject buildRequestBody(String userQuestion, JSONObject financialContext) {
         // Build request
         JSONObject requestBody = new JSONObject();
         requestBody.put("model", model);
@@ -65,54 +153,52 @@ public class OpenRouterService {
         requestBody.put("temperature", 0.7);
         requestBody.put("max_tokens", 800);
         
-        // Call API
-        String response = callAPI(requestBody);
-        return parseResponse(response);
+        return requestBody;
     }
     
-    private String callAPI(JSONObject payload) throws IOException {
-        URL url = new URL(OPENROUTER_API_URL);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Content-Type", "application/json");
-        conn.setRequestProperty("Authorization", "Bearer " + apiKey);
-        conn.setRequestProperty("HTTP-Referer", "http://localhost");
-        conn.setRequestProperty("X-Title", "FinSight Personal Finance Advisor");
-        conn.setDoOutput(true);
-        conn.setConnectTimeout(15000);  // 15 seconds to connect
-        conn.setReadTimeout(60000);     // 60 seconds to read response
-        
-        // Send request
-        try (OutputStream os = conn.getOutputStream()) {
-            byte[] input = payload.toString().getBytes(StandardCharsets.UTF_8);
-            os.write(input, 0, input.length);
+    private Map<String, String> headers() {
+        return Map.of(
+            "Authorization", "Bearer " + apiKey,
+            "HTTP-Referer", "http://localhost",
+            "X-Title", "FinSight Personal Finance Advisor");
+    }
+    
+    /**
+     * Text of one streamed chunk (choices[0].delta.content)
+     * @throws IllegalStateException if the stream reports an error
+     */
+    private String parseDelta(String json) {
+        JSONObject root = new JSONObject(json);
+        if (root.has("error")) {
+            throw new IllegalStateException("AI Error: "
+                + root.getJSONObject("error").optString("message", "Unknown error"));
         }
-        
-        // Read response
-        int responseCode = conn.getResponseCode();
-        
-        if (responseCode == 200) {
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(conn.getInputStream(), StandardCharsets.UTF_8))) {
-                StringBuilder response = new StringBuilder();
-                String responseLine;
-                while ((responseLine = br.readLine()) != null) {
-                    response.append(responseLine.trim());
-                }
-                return response.toString();
-            }
-        } else {
-            try (BufferedReader br = new BufferedReader(
-                    new InputStreamReader(conn.getErrorStream(), StandardCharsets.UTF_8))) {
-                StringBuilder error = new StringBuilder();
-                String line;
-                while ((line = br.readLine()) != null) {
-                    error.append(line);
-                }
-                throw new IOException("OpenRouter API error (code " + responseCode + "): " + error.toString());
-            }
+        JSONArray choices = root.optJSONArray("choices");
+        if (choices == null || choices.length() == 0) {
+            return "";
+        }
+        JSONObject delta = choices.getJSONObject(0).optJSONObject("delta");
+        return delta == null ? "" : delta.optString("content", "");
+    }
+    
+    /**
+     * Parse a response, caching it only if it held an answer
+     */
+    private String answer(AIResponseCache.Key key, String jsonResponse) {
+        String reply = parseResponse(jsonResponse);
+        JSONObject root;
+        try {
+            root = new JSONObject(jsonResponse);
+        } catch (Exception e) {
+            return reply;
+        }
+        JSONArray choices = root.optJSONArray("choices");
+        JSONObject message = choices == null || choices.isEmpty() ? null
+            : choices.getJSONObject(0).optJSONObject("message");
+        if (message != null && reply.equals(message.optString("content", "").trim())) {
+            cache.put(key, reply);
         }
+        return reply;
     }
     
     private String parseResponse(String jsonResponse) {
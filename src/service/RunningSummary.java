@@ -0,0 +1,233 @@
+package service;
+
+import database.TransactionDAO;
+import events.TransactionEventManager;
+import events.TransactionListener;
+import models.Transaction;
+import models.TransactionTotals;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Current-month totals, current-month expenses by category and the most recent
+ * transactions, kept up to date from transaction events.
+ * WHY: The AI context is rebuilt on every panel refresh; reading these aggregates costs
+ * the same however large the ledger is, instead of re-querying or re-scanning it.
+ *
+ * Loaded lazily (one indexed query for the month, one LIMIT query for the recent list),
+ * then maintained from synchronous events. A bulk refresh or a new calendar month marks
+ * it stale and the next read reloads it.
+ */
+public final class RunningSummary implements TransactionListener {
+    /** Most recent transactions kept in memory; longer lists are read from the database. */
+    public static final int RECENT_CAPACITY = 20;
+    
+    // Newest first, as getAllTransactions orders them
+    private static final Comparator<Transaction> NEWEST_FIRST =
+        Comparator.comparing(Transaction::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingInt(Transaction::getId).reversed());
+    
+    private static RunningSummary instance;
+    
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    
+    private YearMonth month;
+    private boolean stale = true;
+    private long monthIncome = 0;
+    private long monthExpenses = 0;
+    // This month's rows by id, so a delete can be subtracted without a query
+    private final Map<Integer, Transaction> monthRows = new HashMap<>();
+    private final Map<String, Long> monthExpensesByCategory = new HashMap<>();
+    
+    // Bounded buffer of the newest transactions, newest first
+    private final Transaction[] recent = new Transaction[RECENT_CAPACITY];
+    private int recentSize = 0;
+    // A buffered row was deleted, so the next-newest row is unknown until a reload
+    private boolean recentIncomplete = false;
+    
+    private RunningSummary() {
+    }
+    
+    public static synchronized RunningSummary getInstance() {
+        if (instance == null) {
+            instance = new RunningSummary();
+            TransactionEventManager.getInstance().subscribeSynchronous(instance);
+        }
+        return instance;
+    }
+    
+    /**
+     * Income, expenses and count for the current calendar month.
+     */
+    public synchronized TransactionTotals getMonthTotals() {
+        ensureLoaded();
+        return new TransactionTotals(monthIncome, monthExpenses, monthRows.size());
+    }
+    
+    /**
+     * The current month's largest expense categories, highest first, in minor units.
+     */
+    public synchronized List<Map.Entry<String, Long>> getTopExpenseCategories(int limit) {
+        ensureLoaded();
+        // Min-heap of at most limit entries over a few dozen categories
+        PriorityQueue<Map.Entry<String, Long>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<String, Long> entry : monthExpensesByCategory.entrySet()) {
+            heap.offer(Map.entry(entry.getKey(), entry.getValue()));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<String, Long>> top = new ArrayList<>(heap);
+        top.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return top;
+    }
+    
+    /**
+     * The newest limit transactions, newest first.
+     */
+    public List<Transaction> getRecentTransactions(int limit) {
+        if (limit > RECENT_CAPACITY) {
+            return transactionDAO.getRecentTransactions(limit);
+        }
+        synchronized (this) {
+            ensureLoaded();
+            if (recentIncomplete && recentSize < limit) {
+                loadRecent();
+            }
+            return new ArrayList<>(Arrays.asList(recent).subList(0, Math.min(limit, recentSize)));
+        }
+    }
+    
+    // Transaction events, delivered synchronously on the writing thread
+    @Override
+    public synchronized void onTransactionAdded(Transaction transaction) {
+        if (stale) {
+            return;
+        }
+        addToMonth(transaction);
+        offerRecent(transaction);
+    }
+    
+    @Override
+    public synchronized void onTransactionDeleted(int transactionId) {
+        if (stale) {
+            return;
+        }
+        removeFromMonth(transactionId);
+        removeRecent(transactionId);
+    }
+    
+    @Override
+    public synchronized void onTransactionUpdated(Transaction transaction) {
+        if (stale) {
+            return;
+        }
+        removeFromMonth(transaction.getId());
+        removeRecent(transaction.getId());
+        addToMonth(transaction);
+        offerRecent(transaction);
+    }
+    
+    @Override
+    public synchronized void onTransactionsRefreshed() {
+        stale = true;
+    }
+    
+    private void ensureLoaded() {
+        if (!stale && YearMonth.now().equals(month)) {
+            return;
+        }
+        month = YearMonth.now();
+        monthIncome = 0;
+        monthExpenses = 0;
+        monthRows.clear();
+        monthExpensesByCategory.clear();
+        int rows;
+        try {
+            rows = transactionDAO.forEachTransaction(month.atDay(1).toString(),
+                month.plusMonths(1).atDay(1).toString(), null, this::addToMonth);
+        } catch (IOException e) {
+            rows = -1;
+        }
+        loadRecent();
+        // On failure stay stale, so the next read tries again
+        stale = rows < 0;
+    }
+    
+    private void loadRecent() {
+        List<Transaction> newest = transactionDAO.getRecentTransactions(RECENT_CAPACITY);
+        Arrays.fill(recent, null);
+        recentSize = newest.size();
+        for (int i = 0; i < recentSize; i++) {
+            recent[i] = newest.get(i);
+        }
+        recentIncomplete = false;
+    }
+    
+    private void addToMonth(Transaction transaction) {
+        String date = transaction.getDate();
+        if (date == null || !date.startsWith(month.toString())) {
+            return;
+        }
+        // Events for writes that committed during a reload may repeat a row already read
+        removeFromMonth(transaction.getId());
+        monthRows.put(transaction.getId(), transaction);
+        apply(transaction, 1);
+    }
+    
+    private void removeFromMonth(int id) {
+        Transaction previous = monthRows.remove(id);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+    
+    private void apply(Transaction transaction, int sign) {
+        long amount = sign * transaction.getAmountMinor();
+        if ("Income".equals(transaction.getType())) {
+            monthIncome += amount;
+        } else if ("Expense".equals(transaction.getType())) {
+            monthExpenses += amount;
+            // Drop categories that fall back to nothing, as a fresh load would
+            monthExpensesByCategory.merge(transaction.getCategory(), amount,
+                (current, delta) -> current + delta == 0 ? null : current + delta);
+        }
+    }
+    
+    /**
+     * Insert into the newest-first buffer if it ranks among the newest RECENT_CAPACITY.
+     */
+    private void offerRecent(Transaction transaction) {
+        removeRecent(transaction.getId());
+        int slot = 0;
+        while (slot < recentSize && NEWEST_FIRST.compare(recent[slot], transaction) < 0) {
+            slot++;
+        }
+        if (slot >= RECENT_CAPACITY || (slot == recentSize && recentIncomplete)) {
+            // Older than every buffered row; with a gap at the end its rank is unknown
+            return;
+        }
+        int moved = Math.min(recentSize, RECENT_CAPACITY - 1) - slot;
+        System.arraycopy(recent, slot, recent, slot + 1, moved);
+        recent[slot] = transaction;
+        recentSize = Math.min(recentSize + 1, RECENT_CAPACITY);
+    }
+    
+    private void removeRecent(int id) {
+        for (int i = 0; i < recentSize; i++) {
+            if (recent[i].getId() == id) {
+                System.arraycopy(recent, i + 1, recent, i, recentSize - i - 1);
+                recent[--recentSize] = null;
+                recentIncomplete = true;
+                return;
+            }
+        }
+    }
+}
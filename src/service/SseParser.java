@@ -0,0 +1,74 @@
+package service;
+
+import java.util.function.Consumer;
+
+/**
+ * Turns server-sent event lines into event payloads.
+ * Data lines are joined with newlines and dispatched at each blank line; comments,
+ * event names, ids and retry hints are ignored, as are events after OpenAI-style
+ * "[DONE]".
+ */
+final class SseParser {
+    private static final String DONE = "[DONE]";
+    
+    private final Consumer<String> onData;
+    private final StringBuilder data = new StringBuilder();
+    private boolean hasData = false;
+    private boolean done = false;
+    
+    SseParser(Consumer<String> onData) {
+        this.onData = onData;
+    }
+    
+    /**
+     * Feed one line, without its line terminator.
+     */
+    void line(String line) {
+        if (done) {
+            return;
+        }
+        if (line.isEmpty()) {
+            dispatch();
+            return;
+        }
+        if (line.startsWith(":")) {
+            // Comment or keep-alive
+            return;
+        }
+        int colon = line.indexOf(':');
+        String field = colon < 0 ? line : line.substring(0, colon);
+        if (!field.equals("data")) {
+            return;
+        }
+        String value = colon < 0 ? "" : line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+            value = value.substring(1);
+        }
+        if (hasData) {
+            data.append('\n');
+        }
+        data.append(value);
+        hasData = true;
+    }
+    
+    /**
+     * End of stream; dispatches a final event that had no trailing blank line.
+     */
+    void finish() {
+        dispatch();
+    }
+    
+    private void dispatch() {
+        if (!hasData) {
+            return;
+        }
+        String payload = data.toString();
+        data.setLength(0);
+        hasData = false;
+        if (payload.equals(DONE)) {
+            done = true;
+            return;
+        }
+        onData.accept(payload);
+    }
+}
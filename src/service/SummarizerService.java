@@ -5,13 +5,14 @@ import database.InvestmentDAO;
 import database.CategoryDAO;
 import models.Transaction;
 import models.Investment;
+import models.Money;
+import models.TransactionTotals;
 import backend.BudgetLogic;
 import backend.SettingsManager;
 import org.json.JSONObject;
 import org.json.JSONArray;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -23,12 +24,14 @@ public class SummarizerService {
     private final TransactionDAO transactionDAO;
     private final InvestmentDAO investmentDAO;
     private final CategoryDAO categoryDAO;
+    private final RunningSummary runningSummary;
     private final BudgetLogic budgetLogic;
     
     public SummarizerService() {
         this.transactionDAO = new TransactionDAO();
         this.investmentDAO = new InvestmentDAO();
         this.categoryDAO = new CategoryDAO();
+        this.runningSummary = RunningSummary.getInstance();
         this.budgetLogic = new BudgetLogic();
     }
     
@@ -76,18 +79,16 @@ public class SummarizerService {
     private JSONObject summarizeBudget() {
         JSONObject budget = new JSONObject();
         
-        double[] budgetInfo = transactionDAO.getBudgetInfo();
-        double monthlyIncome = budgetInfo[0];
-        double budgetLimit = budgetInfo[1];
-        double totalExpenses = transactionDAO.getTotalExpenses();
+        long[] budgetInfo = transactionDAO.getBudgetInfo();
+        TransactionTotals totals = transactionDAO.getTotals("All Time");
         
-        double usagePercent = budgetLogic.calculateBudgetUsagePercentage();
-        double remaining = budgetLogic.getRemainingBudget();
-        String status = budgetLogic.getBudgetStatus();
+        double usagePercent = budgetLogic.calculateBudgetUsagePercentage(totals);
+        double remaining = budgetLogic.getRemainingBudget(totals);
+        String status = budgetLogic.getBudgetStatusForPercentage(usagePercent);
         
-        budget.put("monthlyIncome", monthlyIncome);
-        budget.put("budgetLimit", budgetLimit);
-        budget.put("totalExpenses", totalExpenses);
+        budget.put("monthlyIncome", Money.toMajor(budgetInfo[0]));
+        budget.put("budgetLimit", Money.toMajor(budgetInfo[1]));
+        budget.put("totalExpenses", totals.getExpenses());
         budget.put("usagePercent", Math.round(usagePercent * 10) / 10.0);
         budget.put("remaining", remaining);
         budget.put("status", status);
@@ -101,17 +102,13 @@ public class SummarizerService {
      */
     private JSONArray summarizeRecentTransactions(int limit) {
         JSONArray transactions = new JSONArray();
-        List<Transaction> allTransactions = transactionDAO.getAllTransactions();
         
-        // Take most recent 'limit' transactions
-        int count = Math.min(limit, allTransactions.size());
-        for (int i = 0; i < count; i++) {
-            Transaction t = allTransactions.get(i);
+        for (Transaction t : runningSummary.getRecentTransactions(limit)) {
             JSONObject txn = new JSONObject();
             txn.put("date", t.getDate());
             txn.put("type", t.getType());
             txn.put("category", t.getCategory());
-            txn.put("amount", Math.round(t.getAmount() * 100) / 100.0);
+            txn.put("amount", t.getAmount());
             // Note: deliberately NOT including full notes for privacy
             transactions.put(txn);
         }
@@ -126,26 +123,14 @@ public class SummarizerService {
     private JSONObject summarizeMonthlyTotals() {
         JSONObject totals = new JSONObject();
         
-        List<Transaction> transactions = transactionDAO.getAllTransactions();
         String currentMonth = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
+        TransactionTotals monthTotals = runningSummary.getMonthTotals();
         
-        double monthlyIncome = 0;
-        double monthlyExpenses = 0;
-        
-        for (Transaction t : transactions) {
-            if (t.getDate().startsWith(currentMonth)) {
-                if ("Income".equals(t.getType())) {
-                    monthlyIncome += t.getAmount();
-                } else if ("Expense".equals(t.getType())) {
-                    monthlyExpenses += t.getAmount();
-                }
-            }
-        }
-        
+        // Exact minor-unit sums, converted once for the JSON
         totals.put("currentMonth", currentMonth);
-        totals.put("income", Math.round(monthlyIncome * 100) / 100.0);
-        totals.put("expenses", Math.round(monthlyExpenses * 100) / 100.0);
-        totals.put("netSavings", Math.round((monthlyIncome - monthlyExpenses) * 100) / 100.0);
+        totals.put("income", monthTotals.getIncome());
+        totals.put("expenses", monthTotals.getExpenses());
+        totals.put("netSavings", monthTotals.getBalance());
         
         return totals;
     }
@@ -157,36 +142,16 @@ public class SummarizerService {
     private JSONArray summarizeTopCategories(int limit) {
         JSONArray categories = new JSONArray();
         
-        List<Transaction> transactions = transactionDAO.getAllTransactions();
-        String currentMonth = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        
-        // Calculate totals by category
-        Map<String, Double> categoryTotals = new HashMap<>();
-        double totalExpenses = 0;
-        
-        for (Transaction t : transactions) {
-            if (t.getDate().startsWith(currentMonth) && "Expense".equals(t.getType())) {
-                String category = t.getCategory();
-                categoryTotals.put(category, 
-                    categoryTotals.getOrDefault(category, 0.0) + t.getAmount());
-                totalExpenses += t.getAmount();
-            }
+        // This month's running totals; the top N come sorted highest first
+        long totalExpenses = runningSummary.getMonthTotals().getExpensesMinor();
+        for (Map.Entry<String, Long> entry : runningSummary.getTopExpenseCategories(limit)) {
+            JSONObject cat = new JSONObject();
+            cat.put("category", entry.getKey());
+            cat.put("amount", Money.toMajor(entry.getValue()));
+            cat.put("percent", Math.round(Money.percent(entry.getValue(), totalExpenses) * 10) / 10.0);
+            categories.put(cat);
         }
         
-        // Sort and take top N
-        final double finalTotalExpenses = totalExpenses;
-        categoryTotals.entrySet().stream()
-            .sorted((e1, e2) -> Double.compare(e2.getValue(), e1.getValue()))
-            .limit(limit)
-            .forEach(entry -> {
-                JSONObject cat = new JSONObject();
-                cat.put("category", entry.getKey());
-                cat.put("amount", Math.round(entry.getValue() * 100) / 100.0);
-                cat.put("percent", finalTotalExpenses > 0 ? 
-                    Math.round((entry.getValue() / finalTotalExpenses) * 1000) / 10.0 : 0);
-                categories.put(cat);
-            });
-        
         return categories;
     }
     
@@ -202,7 +167,7 @@ public class SummarizerService {
             JSONObject investment = new JSONObject();
             investment.put("name", inv.getName());
             investment.put("category", inv.getCategory());
-            investment.put("amount", Math.round(inv.getAmount() * 100) / 100.0);
+            investment.put("amount", inv.getAmount());
             investment.put("startDate", inv.getStartDate());
             // Note: Omitting detailed notes for privacy/token efficiency
             investments.put(investment);
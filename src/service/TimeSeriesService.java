@@ -0,0 +1,117 @@
+package service;
+
+import database.QueryCache;
+import database.RollupDAO;
+import database.TransactionDAO;
+import models.TimeSeries;
+import models.TimeSeries.Granularity;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily, weekly, monthly and yearly totals for trend charts and reports.
+ * WHY: Each series is one grouped query returning at most a few rows per bucket and
+ * category, never the ledger itself. Month-aligned monthly and yearly series read the
+ * monthly_category_totals rollup; anything else groups transactions over the date index.
+ */
+public class TimeSeriesService {
+    private final TransactionDAO transactionDAO;
+    private final RollupDAO rollupDAO;
+    
+    public TimeSeriesService() {
+        this.transactionDAO = new TransactionDAO();
+        this.rollupDAO = new RollupDAO();
+    }
+    
+    /**
+     * Totals per bucket for dates in [from, toExclusive).
+     * Buckets start at the bucket containing from; edge buckets only count dates in range.
+     * @return The series, or an empty one for an empty range or a failed query
+     */
+    public TimeSeries getSeries(Granularity granularity, LocalDate from, LocalDate toExclusive) {
+        if (from == null || toExclusive == null || !from.isBefore(toExclusive)) {
+            return TimeSeries.empty(granularity);
+        }
+        TimeSeries series = QueryCache.getInstance().get(
+            "timeSeries:" + granularity + ":" + from + ":" + toExclusive,
+            () -> loadSeries(granularity, from, toExclusive), QueryCache.TRANSACTIONS);
+        return series != null ? series : TimeSeries.empty(granularity);
+    }
+    
+    /**
+     * Monthly totals for the last months calendar months, ending with the current one.
+     */
+    public TimeSeries getMonthlyTrend(int months) {
+        YearMonth end = YearMonth.now().plusMonths(1);
+        return getSeries(Granularity.MONTH, end.minusMonths(months).atDay(1), end.atDay(1));
+    }
+    
+    /**
+     * @return The series, or null on error so the failure is not cached
+     */
+    private TimeSeries loadSeries(Granularity granularity, LocalDate from, LocalDate toExclusive) {
+        // Bucket boundaries as epoch days; starts[n] is the end of the last bucket
+        List<LocalDate> boundaries = new ArrayList<>();
+        for (LocalDate start = granularity.bucketStart(from); start.isBefore(toExclusive); start = granularity.next(start)) {
+            boundaries.add(start);
+        }
+        int buckets = boundaries.size();
+        boundaries.add(granularity.next(boundaries.get(buckets - 1)));
+        int[] starts = boundaries.stream().mapToInt(date -> (int) date.toEpochDay()).toArray();
+        
+        long[] income = new long[buckets];
+        long[] expenses = new long[buckets];
+        Map<String, long[]> categoryTotals = new LinkedHashMap<>();
+        TransactionDAO.PeriodTotalVisitor visitor = (period, type, category, total) -> {
+            // Months arrive as YYYY-MM and fall in the bucket of their first day
+            LocalDate date = period.length() == 7 ? YearMonth.parse(period).atDay(1) : LocalDate.parse(period);
+            int slot = Arrays.binarySearch(starts, (int) date.toEpochDay());
+            if (slot < 0) {
+                slot = -slot - 2;
+            }
+            if (slot < 0 || slot >= buckets) {
+                return;
+            }
+            if ("Income".equals(type)) {
+                income[slot] += total;
+            } else if ("Expense".equals(type)) {
+                expenses[slot] += total;
+            }
+            categoryTotals.computeIfAbsent(type + '\u0000' + category, key -> new long[buckets])[slot] += total;
+        };
+        
+        boolean monthBuckets = granularity == Granularity.MONTH || granularity == Granularity.YEAR;
+        int rows;
+        if (monthBuckets && from.getDayOfMonth() == 1 && toExclusive.getDayOfMonth() == 1) {
+            rows = rollupDAO.forEachMonthlyTotal(YearMonth.from(from).toString(),
+                YearMonth.from(toExclusive).toString(), visitor);
+        } else {
+            rows = transactionDAO.forEachPeriodTotal(monthBuckets, from.toString(), toExclusive.toString(), visitor);
+        }
+        if (rows < 0) {
+            return null;
+        }
+        
+        // Highest overall total first, as the category charts list them
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(categoryTotals.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, long[]> entry) ->
+            Arrays.stream(entry.getValue()).sum()).reversed());
+        String[] types = new String[entries.size()];
+        String[] names = new String[entries.size()];
+        long[][] totals = new long[entries.size()][];
+        for (int c = 0; c < entries.size(); c++) {
+            String key = entries.get(c).getKey();
+            int split = key.indexOf('\u0000');
+            types[c] = key.substring(0, split);
+            names[c] = key.substring(split + 1);
+            totals[c] = entries.get(c).getValue();
+        }
+        return new TimeSeries(granularity, Arrays.copyOf(starts, buckets), income, expenses, types, names, totals);
+    }
+}
@@ -0,0 +1,10 @@
+package service;
+
+/**
+ * Receives a streamed reply piece by piece, in order, as the provider produces it.
+ * Called on an HTTP client thread; UI code must hand the text over to the EDT.
+ */
+@FunctionalInterface
+public interface TokenCallback {
+    void onToken(String text);
+}
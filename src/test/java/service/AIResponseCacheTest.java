@@ -0,0 +1,120 @@
+package service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Tests for AIResponseCache
+ * WHY: Validates keying, eviction and invalidation without a database or network
+ */
+public class AIResponseCacheTest {
+    
+    /**
+     * Clock the tests can move forward
+     */
+    private static class TestClock extends Clock {
+        private long millis = 1_000_000;
+        
+        void advance(Duration duration) { millis += duration.toMillis(); }
+        
+        @Override public long millis() { return millis; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    private static JSONObject context(double expenses) {
+        return new JSONObject()
+            .put("currency", "INR")
+            .put("budget", new JSONObject().put("totalExpenses", expenses).put("status", "Within budget"))
+            .put("topExpenseCategories", new JSONArray().put(new JSONObject().put("category", "Food")));
+    }
+    
+    public static void testKeys() {
+        System.out.println("Testing cache keys...");
+        AIResponseCache cache = AIResponseCache.inMemory();
+        
+        check(AIResponseCache.normalize("  Am I  over budget this month?? ").equals("am i over budget this month"),
+            "Punctuation, case and spacing should not matter");
+        
+        // Same data, different key order
+        JSONObject reordered = new JSONObject()
+            .put("topExpenseCategories", new JSONArray().put(new JSONObject().put("category", "Food")))
+            .put("budget", new JSONObject().put("status", "Within budget").put("totalExpenses", 1200.0))
+            .put("currency", "INR");
+        check(cache.key("Gemini", "m", "q", context(1200.0)).getContextHash()
+                .equals(cache.key("Gemini", "m", "q", reordered).getContextHash()),
+            "Key order should not change the context hash");
+        check(!cache.key("Gemini", "m", "q", context(1200.0)).getContextHash()
+                .equals(cache.key("Gemini", "m", "q", context(1250.0)).getContextHash()),
+            "Different data should change the context hash");
+        
+        cache.put(cache.key("Gemini", "flash", "Am I over budget?", context(1200.0)), "No, you are fine.");
+        check("No, you are fine.".equals(cache.get(cache.key("Gemini", "flash", "am i over budget", context(1200.0)))),
+            "A normalized repeat should hit");
+        check(cache.get(cache.key("OpenRouter", "flash", "Am I over budget?", context(1200.0))) == null,
+            "Another provider should miss");
+        check(cache.get(cache.key("Gemini", "pro", "Am I over budget?", context(1200.0))) == null,
+            "Another model should miss");
+        System.out.println("✅ Keys normalize questions and hash contexts canonically");
+    }
+    
+    public static void testInvalidation() {
+        System.out.println("\nTesting invalidation...");
+        AIResponseCache cache = AIResponseCache.inMemory();
+        cache.put(cache.key("Gemini", "flash", "Biggest expenses?", context(1200.0)), "Food.");
+        
+        // A new expense changes the context; the old answer must not come back
+        check(cache.get(cache.key("Gemini", "flash", "Biggest expenses?", context(1300.0))) == null,
+            "Changed data should miss");
+        check(cache.get(cache.key("Gemini", "flash", "Biggest expenses?", context(1200.0))) == null,
+            "Answers for the old context should be dropped");
+        System.out.println("✅ A new context hash drops old answers");
+    }
+    
+    public static void testExpiryAndEviction() {
+        System.out.println("\nTesting TTL and LRU...");
+        TestClock clock = new TestClock();
+        AIResponseCache cache = new AIResponseCache(2, Duration.ofMinutes(10), null, clock);
+        JSONObject ctx = context(1200.0);
+        
+        cache.put(cache.key("Gemini", "flash", "one", ctx), "1");
+        cache.put(cache.key("Gemini", "flash", "two", ctx), "2");
+        cache.get(cache.key("Gemini", "flash", "one", ctx));
+        cache.put(cache.key("Gemini", "flash", "three", ctx), "3");
+        check(cache.get(cache.key("Gemini", "flash", "two", ctx)) == null, "Least recently used entry should be evicted");
+        check("1".equals(cache.get(cache.key("Gemini", "flash", "one", ctx))), "Recently used entry should stay");
+        
+        clock.advance(Duration.ofMinutes(11));
+        check(cache.get(cache.key("Gemini", "flash", "three", ctx)) == null, "Expired entry should miss");
+        System.out.println("✅ " + cache.getStats());
+    }
+    
+    /**
+     * Run all tests
+     */
+    public static void main(String[] args) {
+        System.out.println("=================================");
+        System.out.println("  AIResponseCache Tests");
+        System.out.println("=================================\n");
+        
+        testKeys();
+        testInvalidation();
+        testExpiryAndEviction();
+        
+        System.out.println("\n=================================");
+        System.out.println("  All Tests Complete");
+        System.out.println("=================================");
+    }
+}
@@ -0,0 +1,244 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for LLMPipeline against a local stub server
+ * WHY: Retry, failover, breaker and hedging paths need misbehaving servers on demand
+ */
+public class LLMPipelineTest {
+    private static final String[] TOKENS = {"Your biggest ", "expense is ", "rent."};
+    private static final String REPLY = String.join("", TOKENS);
+    
+    private static HttpServer server;
+    private static ExecutorService handlers;
+    private static String baseUrl;
+    private static final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private static final AtomicInteger questions = new AtomicInteger();
+    
+    /**
+     * OpenAI-style streaming endpoints, one behaviour per path
+     */
+    private static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            String path = exchange.getRequestURI().getPath();
+            int n = requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            switch (path) {
+                case "/ok" -> stream(exchange, 0);
+                case "/flaky" -> {
+                    if (n <= 2) {
+                        fail(exchange, 503, null);
+                    } else {
+                        stream(exchange, 0);
+                    }
+                }
+                case "/limited" -> {
+                    if (n == 1) {
+                        fail(exchange, 429, "1");
+                    } else {
+                        stream(exchange, 0);
+                    }
+                }
+                case "/down" -> fail(exchange, 500, null);
+                case "/denied" -> fail(exchange, 401, null);
+                case "/hang" -> stream(exchange, 5000);
+                // The 11th request stalls, after ten quick ones have set the latency baseline
+                case "/hedge" -> stream(exchange, n == 11 ? 2000 : 20);
+                default -> fail(exchange, 404, null);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    private static void fail(HttpExchange exchange, int status, String retryAfter) throws IOException {
+        byte[] body = "{\"error\":{\"message\":\"stub failure\"}}".getBytes(StandardCharsets.UTF_8);
+        if (retryAfter != null) {
+            exchange.getResponseHeaders().add("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+    
+    private static void stream(HttpExchange exchange, long firstTokenDelayMs) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            Thread.sleep(firstTokenDelayMs);
+            for (String token : TOKENS) {
+                JSONObject delta = new JSONObject().put("content", token);
+                JSONObject chunk = new JSONObject().put("choices", new JSONArray().put(new JSONObject().put("delta", delta)));
+                out.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(10);
+            }
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client abandoned the stream
+        }
+    }
+    
+    /**
+     * A stub endpoint under its own name, so each gets its own breaker and latency history
+     */
+    private static LLMProvider provider(String name, String path) {
+        OpenRouterService service = new OpenRouterService("test-key", "test-model", baseUrl + path);
+        return new LLMProvider() {
+            @Override public String getName() { return name; }
+            @Override public boolean isEnabled() { return true; }
+            @Override public CompletableFuture<String> ask(String question, JSONObject context, TokenCallback callback) {
+                return service.ask(question, context, callback);
+            }
+        };
+    }
+    
+    private static LLMPipeline pipeline(LLMProvider... providers) {
+        return new LLMPipeline()
+            .setProviders(List.of(providers))
+            .setBackoff(Duration.ofMillis(20), Duration.ofMillis(200))
+            .setAttemptTimeout(Duration.ofSeconds(5));
+    }
+    
+    /**
+     * Ask a fresh question (so no answer is cached) and check the reply arrived exactly once
+     */
+    private static String ask(LLMPipeline pipeline) throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        String reply = pipeline.ask("Question " + questions.incrementAndGet(), new JSONObject(), received::add)
+            .get(15, TimeUnit.SECONDS);
+        check(String.join("", received).equals(reply), "Streamed text differs from reply: " + received);
+        return reply;
+    }
+    
+    private static int count(String path) {
+        AtomicInteger n = requests.get(path);
+        return n == null ? 0 : n.get();
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    public static void testRetry() throws Exception {
+        System.out.println("Testing retry on 503...");
+        check(ask(pipeline(provider("Flaky", "/flaky"))).equals(REPLY), "Expected the reply after retries");
+        check(count("/flaky") == 3, "Expected 3 requests, got " + count("/flaky"));
+        System.out.println("✅ Two 503s retried, third attempt answered");
+    }
+    
+    public static void testRetryAfter() throws Exception {
+        System.out.println("\nTesting Retry-After...");
+        long start = System.nanoTime();
+        check(ask(pipeline(provider("Limited", "/limited"))).equals(REPLY), "Expected the reply after 429");
+        long waitedMs = (System.nanoTime() - start) / 1_000_000;
+        check(waitedMs >= 1000, "Retry-After: 1 should delay the retry, waited " + waitedMs + " ms");
+        System.out.println("✅ 429 retried after " + waitedMs + " ms");
+    }
+    
+    public static void testFailoverAndBreaker() throws Exception {
+        System.out.println("\nTesting failover and circuit breaker...");
+        LLMPipeline pipeline = pipeline(provider("Down", "/down"), provider("Backup", "/ok"))
+            .setMaxAttempts(2)
+            .setCircuitBreaker(2, Duration.ofMillis(500));
+        
+        check(ask(pipeline).equals(REPLY), "Backup should answer");
+        check(count("/down") == 2, "Down should get 2 attempts, got " + count("/down"));
+        check(pipeline.getBreakerState("Down") == CircuitBreaker.State.OPEN, "Breaker should be open");
+        
+        check(ask(pipeline).equals(REPLY), "Backup should answer while the breaker is open");
+        check(count("/down") == 2, "An open breaker should skip Down");
+        
+        Thread.sleep(600);
+        check(ask(pipeline).equals(REPLY), "Backup should answer after the failed trial");
+        check(count("/down") == 3, "Half-open breaker should allow one trial, got " + count("/down"));
+        check(pipeline.getBreakerState("Down") == CircuitBreaker.State.OPEN, "Failed trial should reopen the breaker");
+        System.out.println("✅ Failed over, skipped while open, one trial when half-open");
+    }
+    
+    public static void testNoRetryOnAuthError() throws Exception {
+        System.out.println("\nTesting 401 handling...");
+        check(ask(pipeline(provider("Denied", "/denied"), provider("Backup", "/ok"))).equals(REPLY),
+            "Backup should answer");
+        check(count("/denied") == 1, "401 should not be retried, got " + count("/denied"));
+        System.out.println("✅ 401 failed over without retrying");
+    }
+    
+    public static void testAttemptTimeout() throws Exception {
+        System.out.println("\nTesting attempt timeout...");
+        LLMPipeline pipeline = pipeline(provider("Hang", "/hang"), provider("Backup", "/ok"))
+            .setMaxAttempts(1)
+            .setAttemptTimeout(Duration.ofMillis(300));
+        long start = System.nanoTime();
+        check(ask(pipeline).equals(REPLY), "Backup should answer");
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        check(tookMs < 2000, "Timeout should cut the hanging provider short, took " + tookMs + " ms");
+        System.out.println("✅ Hanging provider abandoned, answered in " + tookMs + " ms");
+    }
+    
+    public static void testHedging() throws Exception {
+        System.out.println("\nTesting hedged requests...");
+        LLMPipeline pipeline = pipeline(provider("Hedged", "/hedge")).setHedgePercentile(90);
+        for (int i = 0; i < 10; i++) {
+            ask(pipeline);
+        }
+        long start = System.nanoTime();
+        check(ask(pipeline).equals(REPLY), "Hedged request should answer");
+        long tookMs = (System.nanoTime() - start) / 1_000_000;
+        check(count("/hedge") == 12, "Expected one hedge request, got " + (count("/hedge") - 11));
+        check(tookMs < 1500, "Hedge should beat the stalled request, took " + tookMs + " ms");
+        System.out.println("✅ Stalled request hedged, answered in " + tookMs + " ms");
+    }
+    
+    /**
+     * Run all tests
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("=================================");
+        System.out.println("  LLMPipeline Tests");
+        System.out.println("=================================\n");
+        
+        startServer();
+        try {
+            testRetry();
+            testRetryAfter();
+            testFailoverAndBreaker();
+            testNoRetryOnAuthError();
+            testAttemptTimeout();
+            testHedging();
+        } finally {
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+        
+        System.out.println("\n=================================");
+        System.out.println("  All Tests Complete");
+        System.out.println("=================================");
+    }
+}
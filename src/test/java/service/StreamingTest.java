@@ -0,0 +1,206 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming tests for GeminiService and OpenRouterService
+ * WHY: Checks SSE parsing and token delivery against a local stub server, no API key needed
+ */
+public class StreamingTest {
+    private static final String[] TOKENS = {"You spent ", "most on ", "Groceries", " this month."};
+    private static final long EVENT_DELAY_MS = 150;
+    
+    private static HttpServer server;
+    private static String baseUrl;
+    
+    /**
+     * Stub that answers both providers' streaming endpoints with delayed events
+     */
+    private static void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            exchange.getRequestBody().readAllBytes();
+            if (path.endsWith("/limited:streamGenerateContent")) {
+                byte[] body = "{\"error\":{\"message\":\"quota\"}}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Retry-After", "7");
+                exchange.sendResponseHeaders(429, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            } else if (path.endsWith("/gemini:streamGenerateContent")) {
+                List<String> events = new ArrayList<>();
+                events.add(": keep-alive");
+                for (String token : TOKENS) {
+                    events.add("data: " + geminiChunk(token));
+                }
+                stream(exchange, events);
+            } else if (path.endsWith("/broken:streamGenerateContent")) {
+                stream(exchange, List.of("data: " + geminiChunk(TOKENS[0]),
+                    "data: {\"error\":{\"message\":\"model overloaded\"}}"));
+            } else if (path.endsWith("/chat/completions")) {
+                List<String> events = new ArrayList<>();
+                events.add("event: message\ndata: {\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}");
+                for (String token : TOKENS) {
+                    events.add("data: " + openRouterChunk(token));
+                }
+                events.add("data: [DONE]");
+                events.add("data: " + openRouterChunk(" ignored after DONE"));
+                stream(exchange, events);
+            } else {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+    
+    private static void stream(HttpExchange exchange, List<String> events) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String event : events) {
+                out.write((event + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(EVENT_DELAY_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client cancelled the stream
+        }
+    }
+    
+    private static String geminiChunk(String text) {
+        JSONObject part = new JSONObject().put("text", text);
+        JSONObject content = new JSONObject().put("parts", new JSONArray().put(part)).put("role", "model");
+        return new JSONObject().put("candidates", new JSONArray().put(new JSONObject().put("content", content))).toString();
+    }
+    
+    private static String openRouterChunk(String text) {
+        JSONObject delta = new JSONObject().put("content", text);
+        return new JSONObject().put("choices", new JSONArray().put(new JSONObject().put("delta", delta))).toString();
+    }
+    
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+    
+    /**
+     * Tokens arrive in order, the first well before the end, and add up to the full reply
+     */
+    private static void checkStream(String name, StreamCall call) throws Exception {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        long[] firstTokenAt = {0};
+        long start = System.nanoTime();
+        String reply = call.start(text -> {
+            if (received.isEmpty()) {
+                firstTokenAt[0] = System.nanoTime();
+            }
+            received.add(text);
+        }).get(10, TimeUnit.SECONDS);
+        long total = System.nanoTime() - start;
+        long firstToken = firstTokenAt[0] - start;
+        
+        check(received.equals(List.of(TOKENS)), name + " tokens out of order or incomplete: " + received);
+        check(reply.equals(String.join("", TOKENS)), name + " full reply mismatch: " + reply);
+        check(firstToken < total / 2, name + " first token only after " + firstToken / 1_000_000 + " ms");
+        System.out.printf("✅ %s: %d tokens, first after %d ms, done after %d ms%n",
+            name, received.size(), firstToken / 1_000_000, total / 1_000_000);
+    }
+    
+    public static void testGeminiStream() throws Exception {
+        System.out.println("Testing Gemini streaming...");
+        GeminiService gemini = new GeminiService("test-key", baseUrl + "/v1beta/models/gemini");
+        checkStream("Gemini", callback -> gemini.streamGemini("Where does my money go?", new JSONObject(), callback));
+    }
+    
+    public static void testOpenRouterStream() throws Exception {
+        System.out.println("\nTesting OpenRouter streaming...");
+        OpenRouterService openRouter = new OpenRouterService("test-key", "test-model", baseUrl + "/api/v1/chat/completions");
+        checkStream("OpenRouter", callback -> openRouter.askStreaming("Where does my money go?", new JSONObject(), callback));
+    }
+    
+    public static void testErrors() throws Exception {
+        System.out.println("\nTesting streaming errors...");
+        GeminiService limited = new GeminiService("test-key", baseUrl + "/v1beta/models/limited");
+        try {
+            limited.streamGemini("Hi", new JSONObject(), text -> { }).get(10, TimeUnit.SECONDS);
+            check(false, "429 should fail the stream");
+        } catch (ExecutionException e) {
+            check(e.getCause() instanceof HttpStatusException, "Expected HttpStatusException, got " + e.getCause());
+            HttpStatusException status = (HttpStatusException) e.getCause();
+            check(status.getStatusCode() == 429 && status.isRetryable(), "Expected retryable 429");
+            check(status.getRetryAfter() != null && status.getRetryAfter().getSeconds() == 7, "Retry-After not read");
+        }
+        
+        GeminiService broken = new GeminiService("test-key", baseUrl + "/v1beta/models/broken");
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        try {
+            broken.streamGemini("Hi", new JSONObject(), received::add).get(10, TimeUnit.SECONDS);
+            check(false, "An error event should fail the stream");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            check(cause.getMessage().contains("model overloaded"), "Unexpected error: " + cause);
+            check(received.equals(List.of(TOKENS[0])), "Tokens before the error should be delivered: " + received);
+        }
+        System.out.println("✅ HTTP status and mid-stream errors fail the future");
+    }
+    
+    public static void testParser() {
+        System.out.println("\nTesting SSE parser...");
+        List<String> events = new ArrayList<>();
+        SseParser parser = new SseParser(events::add);
+        for (String line : new String[] {": comment", "id: 1", "data: first", "data:second", "", "",
+                "retry: 100", "data: tail"}) {
+            parser.line(line);
+        }
+        parser.finish();
+        check(events.equals(List.of("first\nsecond", "tail")), "Unexpected events: " + events);
+        System.out.println("✅ Multi-line data, comments and trailing event handled");
+    }
+    
+    @FunctionalInterface
+    private interface StreamCall {
+        CompletableFuture<String> start(TokenCallback callback);
+    }
+    
+    /**
+     * Run all tests
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("=================================");
+        System.out.println("  Streaming Tests");
+        System.out.println("=================================\n");
+        
+        startServer();
+        try {
+            testParser();
+            testGeminiStream();
+            testOpenRouterStream();
+            testErrors();
+        } finally {
+            server.stop(0);
+        }
+        
+        System.out.println("\n=================================");
+        System.out.println("  All Tests Complete");
+        System.out.println("=================================");
+    }
+}
@@ -0,0 +1,333 @@
+package tools;
+
+import database.DBConnection;
+import database.InvestmentDAO;
+import database.TransactionDAO;
+import models.Investment;
+import models.Money;
+import models.Transaction;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a deterministic synthetic ledger to a finance.db-compatible file.
+ * WHY: Load, scale and UI stress tests need production-sized data without real
+ * customer data, and need the same data every time. The same seed and settings
+ * always produce the same ledger.
+ *
+ * Each month has a salary on the 1st, payments for every running SIP on its day,
+ * FD deposits and maturities, and day-to-day expenses drawn from weighted categories
+ * with log-normal amounts. Rows are written month by month through
+ * TransactionDAO.insertBatch, so tens of millions of rows need little memory.
+ *
+ * Usage: java tools.LedgerGenerator --out FILE [--rows N] [--seed S] [--years Y]
+ *        [--end YYYY-MM] [--sips N] [--fds N] [--force]
+ */
+public final class LedgerGenerator {
+    private static final int INSERT_BATCH_SIZE = 50_000;
+    private static final int PROGRESS_EVERY = 1_000_000;
+    
+    // Day-to-day spending: category, relative frequency, median amount, spread (log-normal sigma)
+    private static final String[] EXPENSE_CATEGORIES = {
+        "Food", "Transport", "Shopping", "Entertainment", "Utilities", "Bills", "Healthcare", "Education", "Other"
+    };
+    private static final int[] EXPENSE_WEIGHTS = {34, 18, 12, 9, 7, 6, 5, 3, 6};
+    private static final int TOTAL_WEIGHT = Arrays.stream(EXPENSE_WEIGHTS).sum();
+    private static final double[] EXPENSE_MEDIANS = {350, 180, 1_500, 800, 1_200, 2_500, 900, 3_000, 400};
+    private static final double[] EXPENSE_SPREADS = {0.7, 0.6, 0.9, 0.7, 0.4, 0.5, 1.0, 0.8, 1.0};
+    private static final double MEAN_EXPENSE = meanExpense();
+    private static final String[][] EXPENSE_NOTES = {
+        {"Groceries", "Swiggy", "Zomato", "Cafe", "Restaurant", "Vegetables", "Bakery"},
+        {"Uber", "Ola", "Metro card", "Fuel", "Parking", "Auto"},
+        {"Amazon", "Flipkart", "Clothes", "Electronics", "Home goods"},
+        {"Movie", "Netflix", "Concert", "Games", "Books"},
+        {"Electricity", "Water", "Internet", "Mobile recharge", "Gas"},
+        {"Credit card", "Insurance premium", "Maintenance", "Subscription"},
+        {"Pharmacy", "Doctor", "Lab tests", "Dental"},
+        {"Course fee", "Books", "Workshop"},
+        {"Gift", "Donation", "Miscellaneous", "Cash withdrawal"}
+    };
+    private static final String[] FUNDS = {
+        "Nifty 50 Index Fund", "Flexi Cap Fund", "Mid Cap Fund", "ELSS Tax Saver", "Small Cap Fund", "Liquid Fund"
+    };
+    private static final String[] BANKS = {"SBI", "HDFC Bank", "ICICI Bank", "Axis Bank", "Kotak Bank"};
+    
+    private long seed;
+    private long rows = 100_000;
+    private int years = 5;
+    private YearMonth endMonth = YearMonth.now();
+    private int sipCount = 3;
+    private int fdCount = 2;
+    
+    public LedgerGenerator(long seed) {
+        this.seed = seed;
+    }
+    
+    // Setters (chainable)
+    /** Total transactions to write, fixed and day-to-day together; at least getMinRows(). */
+    public LedgerGenerator setRows(long rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("rows must not be negative: " + rows);
+        }
+        this.rows = rows;
+        return this;
+    }
+    public LedgerGenerator setYears(int years) { this.years = years; return this; }
+    /** Last month of the ledger; defaults to the current month. Fix it for byte-identical output. */
+    public LedgerGenerator setEndMonth(YearMonth endMonth) { this.endMonth = endMonth; return this; }
+    public LedgerGenerator setSipCount(int sipCount) { this.sipCount = sipCount; return this; }
+    public LedgerGenerator setFdCount(int fdCount) { this.fdCount = fdCount; return this; }
+    
+    /**
+     * Smallest row count generate accepts with the current settings.
+     * WHY: Fixed rows are always written, so each month's share of the rows must hold
+     * a salary, every SIP payment and a deposit and maturity for every FD.
+     */
+    public long getMinRows() {
+        return (long) years * 12 * (1 + sipCount + 2L * fdCount);
+    }
+    
+    /**
+     * Write the ledger into file, which must not exist yet (or be an empty database).
+     * Leaves the connection pool closed.
+     * @return The number of transactions written (always the row count), or -1 if the
+     *         row count is below getMinRows() or a write failed
+     */
+    public long generate(File file) {
+        if (rows < getMinRows()) {
+            System.err.println("Cannot fit " + rows + " rows into " + years + " years; need at least " + getMinRows());
+            return -1;
+        }
+        DBConnection.closeConnection();
+        System.setProperty(DBConnection.DB_PATH_PROPERTY, file.getPath());
+        
+        SplittableRandom random = new SplittableRandom(seed);
+        int months = years * 12;
+        YearMonth startMonth = endMonth.minusMonths(months - 1);
+        List<Investment> sips = planSips(random.split(), startMonth, months);
+        List<Investment> fds = planFds(random.split(), startMonth, months);
+        
+        TransactionDAO transactionDAO = new TransactionDAO();
+        InvestmentDAO investmentDAO = new InvestmentDAO();
+        // A new database is seeded with sample rows; the ledger holds generated rows only
+        for (Transaction sample : transactionDAO.getAllTransactions()) {
+            transactionDAO.deleteTransaction(sample.getId());
+        }
+        for (Investment investment : sips) {
+            investmentDAO.addInvestment(investment);
+        }
+        for (Investment investment : fds) {
+            investmentDAO.addInvestment(investment);
+        }
+        
+        SplittableRandom spending = random.split();
+        long salary = Money.toMinor(40_000 + spending.nextInt(12) * 10_000);
+        transactionDAO.updateBudget(salary, salary * 7 / 10);
+        
+        long written = 0;
+        long nextProgress = PROGRESS_EVERY;
+        List<Transaction> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int m = 0; m < months; m++) {
+            YearMonth month = startMonth.plusMonths(m);
+            // Yearly raise of about 6%
+            long monthSalary = Math.round(salary * Math.pow(1.06, m / 12));
+            List<Transaction> monthRows = new ArrayList<>();
+            addFixedRows(monthRows, month, monthSalary, sips, fds);
+            
+            // Spread the row budget evenly; fixed rows come out of each month's share
+            long quota = (m + 1) * rows / months - m * rows / months - monthRows.size();
+            // Dense ledgers split about 65% of the salary into more, smaller expenses
+            double scale = quota <= 0 ? 1 : Math.min(1, monthSalary * 0.65 / Money.SCALE / (quota * MEAN_EXPENSE));
+            for (long i = 0; i < quota; i++) {
+                monthRows.add(randomExpense(spending, month, scale));
+            }
+            // Chronological ids, as if entered day by day
+            monthRows.sort(Comparator.comparing(Transaction::getDate));
+            
+            for (Transaction transaction : monthRows) {
+                batch.add(transaction);
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    if (!transactionDAO.insertBatch(batch)) {
+                        return -1;
+                    }
+                    written += batch.size();
+                    batch.clear();
+                }
+            }
+            if (written >= nextProgress) {
+                System.out.println("  " + written + " transactions written (" + month + ")");
+                nextProgress += PROGRESS_EVERY;
+            }
+        }
+        if (!transactionDAO.insertBatch(batch)) {
+            return -1;
+        }
+        written += batch.size();
+        
+        // Mark FDs that matured within the ledger, as checkForMaturedFDs would have
+        String lastDay = endMonth.atEndOfMonth().toString();
+        for (Investment investment : investmentDAO.getAllInvestments()) {
+            String maturity = investment.getMaturityDate();
+            if (maturity != null && !maturity.isEmpty() && maturity.compareTo(lastDay) <= 0) {
+                investmentDAO.updateInvestmentStatus(investment.getId(), "Matured");
+            }
+        }
+        
+        DBConnection.closeConnection();
+        return written;
+    }
+    
+    private List<Investment> planSips(SplittableRandom random, YearMonth startMonth, int months) {
+        List<Investment> sips = new ArrayList<>();
+        for (int i = 0; i < sipCount; i++) {
+            String name = "SIP - " + FUNDS[i % FUNDS.length] + (i >= FUNDS.length ? " " + (i / FUNDS.length + 1) : "");
+            double amount = 500 * (2 + random.nextInt(19));
+            int day = 5 + random.nextInt(11);
+            LocalDate start = startMonth.plusMonths(random.nextInt(Math.max(1, months / 2))).atDay(day);
+            sips.add(new Investment(name, "SIP", amount, start.toString(), "monthly", day, null, null));
+        }
+        return sips;
+    }
+    
+    private List<Investment> planFds(SplittableRandom random, YearMonth startMonth, int months) {
+        List<Investment> fds = new ArrayList<>();
+        for (int i = 0; i < fdCount; i++) {
+            String name = "FD - " + BANKS[i % BANKS.length] + " " + (i + 1);
+            double principal = 10_000 * (5 + random.nextInt(46));
+            LocalDate start = startMonth.plusMonths(random.nextInt(months)).atDay(1 + random.nextInt(28));
+            LocalDate maturity = start.plusYears(1 + random.nextInt(5));
+            double rate = 6.0 + random.nextInt(8) * 0.25;
+            fds.add(new Investment(name, "Fixed Deposit (FD)", principal, start.toString(), "one-time", null,
+                maturity.toString(), rate));
+        }
+        return fds;
+    }
+    
+    /**
+     * Salary, SIP payments, FD deposits and FD maturities falling in month.
+     * Sources and categories match what InvestmentPanel records for the real events.
+     */
+    private void addFixedRows(List<Transaction> out, YearMonth month, long salary,
+                              List<Investment> sips, List<Investment> fds) {
+        out.add(new Transaction("Income", "Salary", Money.ofMinor(salary), month.atDay(1).toString(),
+            "Monthly salary", "manual"));
+        
+        String first = month.atDay(1).toString();
+        String last = month.atEndOfMonth().toString();
+        for (Investment sip : sips) {
+            if (sip.getStartDate().compareTo(last) <= 0) {
+                String date = month.atDay(Math.min(sip.getDayOfMonth(), month.lengthOfMonth())).toString();
+                out.add(new Transaction("Expense", "Investment-SIP", Money.ofMinor(sip.getAmountMinor()), date,
+                    sip.getName(), "investment-recurring"));
+            }
+        }
+        for (Investment fd : fds) {
+            if (fd.getStartDate().compareTo(first) >= 0 && fd.getStartDate().compareTo(last) <= 0) {
+                out.add(new Transaction("Expense", "Investment-FD", Money.ofMinor(fd.getAmountMinor()),
+                    fd.getStartDate(), fd.getName(), "investment_fd_new"));
+            }
+            String maturity = fd.getMaturityDate();
+            if (maturity.compareTo(first) >= 0 && maturity.compareTo(last) <= 0) {
+                // Simple interest, as checkForMaturedFDs computes it
+                double years = ChronoUnit.DAYS.between(
+                    LocalDate.parse(fd.getStartDate()), LocalDate.parse(maturity)) / 365.25;
+                double matured = fd.getAmount() * (1 + fd.getInterestRate() * years / 100);
+                out.add(new Transaction("Income", "Investment-FD-Matured", matured, maturity,
+                    fd.getName() + " (Matured)", "investment_fd_matured"));
+            }
+        }
+    }
+    
+    private Transaction randomExpense(SplittableRandom random, YearMonth month, double scale) {
+        int category = pickCategory(random);
+        double amount = scale * EXPENSE_MEDIANS[category] * Math.exp(EXPENSE_SPREADS[category] * random.nextGaussian());
+        String[] notes = EXPENSE_NOTES[category];
+        return new Transaction("Expense", EXPENSE_CATEGORIES[category],
+            Money.ofMinor(Math.max(1, Math.round(amount * Money.SCALE))),
+            month.atDay(1 + random.nextInt(month.lengthOfMonth())).toString(),
+            notes[random.nextInt(notes.length)], "manual");
+    }
+    
+    /** Expected amount of one day-to-day expense, before scaling. */
+    private static double meanExpense() {
+        double sum = 0;
+        for (int i = 0; i < EXPENSE_WEIGHTS.length; i++) {
+            // Mean of a log-normal is median * e^(sigma^2 / 2)
+            sum += EXPENSE_WEIGHTS[i] * EXPENSE_MEDIANS[i] * Math.exp(EXPENSE_SPREADS[i] * EXPENSE_SPREADS[i] / 2);
+        }
+        return sum / TOTAL_WEIGHT;
+    }
+    
+    private int pickCategory(SplittableRandom random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+        for (int i = 0; i < EXPENSE_WEIGHTS.length; i++) {
+            pick -= EXPENSE_WEIGHTS[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return EXPENSE_WEIGHTS.length - 1;
+    }
+    
+    public static void main(String[] args) {
+        String out = null;
+        boolean force = false;
+        LedgerGenerator generator = new LedgerGenerator(42);
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--out": out = args[++i]; break;
+                    case "--rows": generator.setRows(Long.parseLong(args[++i].replace("_", ""))); break;
+                    case "--seed": generator.seed = Long.parseLong(args[++i]); break;
+                    case "--years": generator.setYears(Integer.parseInt(args[++i])); break;
+                    case "--end": generator.setEndMonth(YearMonth.parse(args[++i])); break;
+                    case "--sips": generator.setSipCount(Integer.parseInt(args[++i])); break;
+                    case "--fds": generator.setFdCount(Integer.parseInt(args[++i])); break;
+                    case "--force": force = true; break;
+                    default: throw new IllegalArgumentException("unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            out = null;
+        }
+        if (out == null || generator.years < 1) {
+            System.err.println("Usage: java tools.LedgerGenerator --out FILE [--rows N] [--seed S] [--years Y]"
+                + " [--end YYYY-MM] [--sips N] [--fds N] [--force]");
+            System.exit(2);
+        }
+        if (generator.rows < generator.getMinRows()) {
+            System.err.println("--rows " + generator.rows + " is too small for " + generator.years + " years of salary, "
+                + generator.sipCount + " SIPs and " + generator.fdCount + " FDs; use at least " + generator.getMinRows());
+            System.exit(2);
+        }
+        
+        File file = new File(out);
+        if (file.exists()) {
+            if (!force) {
+                System.err.println(out + " already exists; pass --force to replace it");
+                System.exit(1);
+            }
+            for (String suffix : new String[]{"", "-wal", "-shm"}) {
+                new File(out + suffix).delete();
+            }
+        }
+        
+        long started = System.nanoTime();
+        long written = generator.generate(file);
+        if (written < 0) {
+            System.err.println("Generation failed; " + out + " is incomplete");
+            System.exit(1);
+        }
+        System.out.printf("Wrote %d transactions, %d SIPs and %d FDs to %s in %.1f s%n",
+            written, generator.sipCount, generator.fdCount, out, (System.nanoTime() - started) / 1e9);
+        System.exit(0);
+    }
+}
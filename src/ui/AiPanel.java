@@ -4,9 +4,16 @@ import javax.swing.*;
 import java.awt.*;
 import service.AIService;
 import service.GeminiService;
+import service.LLMPipeline;
+import service.LLMProvider;
 import service.OpenRouterService;
 import service.SummarizerService;
 import org.json.JSONObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import backend.DataExportImport;
 import database.AppSettingsDAO;
 
@@ -18,8 +25,10 @@ public class AiPanel extends JPanel implements Refreshable {
     private JTextArea responseArea;
     private JLabel statusLabel;
     private Main mainFrame;
-    private JSONObject currentContext;
-    private boolean useOpenRouter = false;
+    private volatile JSONObject currentContext;
+    private int askGeneration = 0;
+    // Retries, failover and circuit breakers across the configured providers
+    private final LLMPipeline pipeline = LLMPipeline.fromConfig();
     
     // Theme colors
     private static final Color BACKGROUND_COLOR = new Color(30, 30, 30);
@@ -34,14 +43,7 @@ public class AiPanel extends JPanel implements Refreshable {
         // Initialize AI services
         geminiService = new GeminiService();
         summarizerService = new SummarizerService();
-        
-        // Check if we should use OpenRouter
-        String apiKey = getApiKeyFromConfig();
-        if (apiKey != null && apiKey.startsWith("sk-or-v1-")) {
-            useOpenRouter = true;
-            // Use LLaMA 3.3 70B - excellent quality
-            openRouterService = new OpenRouterService(apiKey, "meta-llama/llama-3.3-70b-instruct:free");
-        }
+        configureProviders();
         
         setBackground(BACKGROUND_COLOR);
         setLayout(new BorderLayout(10, 10));
@@ -190,24 +192,11 @@ public class AiPanel extends JPanel implements Refreshable {
     
     private void refreshContext() {
         // WHY: Load latest financial data for AI context
-        // Reload Gemini config in case API key was just added
-        geminiService.reloadConfig();
-        
-        // Re-check which service to use
+        // Reload provider config in case an API key was just added
+        configureProviders();
         String apiKey = getApiKeyFromConfig();
-        if (apiKey != null && apiKey.startsWith("sk-or-v1-")) {
-            useOpenRouter = true;
-            if (openRouterService == null) {
-                // Use LLaMA 3.3 70B - excellent quality
-                openRouterService = new OpenRouterService(apiKey, "meta-llama/llama-3.3-70b-instruct:free");
-            }
-        }
         
-        currentContext = summarizerService.summarizeUserData();
-        
-        boolean isEnabled = useOpenRouter ? 
-            (openRouterService != null && openRouterService.isEnabled()) : 
-            geminiService.isEnabled();
+        boolean isEnabled = pipeline.isEnabled();
         
         if (isEnabled) {
             String keyStatus = (apiKey != null && !apiKey.isEmpty()) ? maskApiKey(apiKey) : "Built-in";
@@ -226,6 +215,33 @@ public class AiPanel extends JPanel implements Refreshable {
             "• Give me spending insights\n" +
             "• Should I reduce spending in any category?\n\n" +
             "Tip: For enhanced responses, add your own API key in Settings!");
+        
+        // Summarizing runs several queries; keep it off the EDT
+        DataLoader.load(this, "context", summarizerService::summarizeUserData,
+            context -> currentContext = context);
+    }
+    
+    /**
+     * Providers in order of preference: OpenRouter when it has a key, then Gemini.
+     * The API key setting holds either kind of key; openrouter_api_key in config.properties
+     * adds an OpenRouter key next to a Gemini one, so each can stand in for the other.
+     */
+    private void configureProviders() {
+        geminiService.reloadConfig();
+        String apiKey = getApiKeyFromConfig();
+        boolean keyIsOpenRouter = apiKey != null && apiKey.startsWith("sk-or-v1-");
+        String openRouterKey = keyIsOpenRouter ? apiKey : getConfigValue("openrouter_api_key");
+        
+        List<LLMProvider> providers = new ArrayList<>();
+        if (openRouterKey != null && !openRouterKey.isEmpty()) {
+            // Use LLaMA 3.3 70B - excellent quality
+            openRouterService = new OpenRouterService(openRouterKey, "meta-llama/llama-3.3-70b-instruct:free");
+            providers.add(openRouterService);
+        }
+        if (!keyIsOpenRouter) {
+            providers.add(geminiService);
+        }
+        pipeline.setProviders(providers);
     }
     
     private void askAI() {
@@ -236,9 +252,6 @@ public class AiPanel extends JPanel implements Refreshable {
             return;
         }
         
-        if (currentContext == null) {
-            refreshContext();
-        }
         
         // AI is always available (either custom key or built-in)
         // No need to check configuration
@@ -248,38 +261,91 @@ public class AiPanel extends JPanel implements Refreshable {
         statusLabel.setText("🔄 Processing your question...");
         statusLabel.setForeground(new Color(33, 150, 243));
         
-        // Ask AI in background thread to avoid freezing UI
-        new Thread(() -> {
-            try {
-                String aiResponse;
-                if (useOpenRouter) {
-                    aiResponse = openRouterService.ask(question, currentContext);
-                } else {
-                    aiResponse = geminiService.askGemini(question, currentContext);
+        if (!pipeline.isEnabled()) {
+            responseArea.setText(geminiService.getConfigMessage());
+            statusLabel.setText("⚠️ AI not configured");
+            statusLabel.setForeground(new Color(255, 193, 7));
+            return;
+        }
+        
+        // Summarize off the EDT, then stream the reply into the text area as it is generated
+        int generation = ++askGeneration;
+        TokenBatcher batcher = new TokenBatcher(generation);
+        JSONObject cachedContext = currentContext;
+        CompletableFuture
+            .supplyAsync(() -> cachedContext != null ? cachedContext : summarizerService.summarizeUserData())
+            .thenCompose(context -> pipeline.ask(question, context, batcher::onToken))
+            .whenComplete((aiResponse, failure) -> SwingUtilities.invokeLater(() -> {
+                if (generation != askGeneration) {
+                    return; // A newer question owns the text area
                 }
-                
-                // Update UI on EDT
-                SwingUtilities.invokeLater(() -> {
-                    responseArea.setText(aiResponse);
-                    responseArea.setCaretPosition(0);
+                if (failure == null) {
+                    batcher.flush();
+                    if (!batcher.started) {
+                        responseArea.setText(aiResponse);
+                    }
                     statusLabel.setText("✅ Response received");
                     statusLabel.setForeground(ACCENT_COLOR);
-                });
-                
-            } catch (Exception ex) {
-                SwingUtilities.invokeLater(() -> {
-                    responseArea.setText("❌ Error: " + ex.getMessage() + "\n\n" +
-                        "Please check:\n" +
-                        "1. Your internet connection\n" +
-                        "2. Your API key is valid\n" +
-                        "3. You haven't exceeded rate limits\n\n" +
-                        "Error details: " + ex.toString());
-                    statusLabel.setText("❌ Error occurred");
-                    statusLabel.setForeground(new Color(220, 53, 69));
-                });
+                    return;
+                }
+                Throwable ex = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                responseArea.setText("❌ Error: " + ex.getMessage() + "\n\n" +
+                    "Please check:\n" +
+                    "1. Your internet connection\n" +
+                    "2. Your API key is valid\n" +
+                    "3. You haven't exceeded rate limits\n\n" +
+                    "Error details: " + ex.toString());
+                statusLabel.setText("❌ Error occurred");
+                statusLabel.setForeground(new Color(220, 53, 69));
                 ex.printStackTrace();
+            }));
+    }
+    
+    /**
+     * Collects streamed text off the EDT and appends it in batches.
+     * WHY: One invokeLater per token floods the EDT; tokens that arrive while a flush is
+     * queued ride along with it, so fast streams cost a handful of repaints per second.
+     */
+    private class TokenBatcher {
+        private final int generation;
+        private final StringBuilder pending = new StringBuilder();
+        private final AtomicBoolean flushQueued = new AtomicBoolean(false);
+        private boolean started = false;
+        
+        TokenBatcher(int generation) {
+            this.generation = generation;
+        }
+        
+        /** Called on an HTTP client thread. */
+        void onToken(String text) {
+            synchronized (pending) {
+                pending.append(text);
+            }
+            if (flushQueued.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(this::flush);
+            }
+        }
+        
+        /** Runs on the EDT. */
+        void flush() {
+            flushQueued.set(false);
+            String text;
+            synchronized (pending) {
+                text = pending.toString();
+                pending.setLength(0);
             }
-        }).start();
+            if (text.isEmpty() || generation != askGeneration) {
+                return;
+            }
+            if (!started) {
+                // Replace the "Analyzing" placeholder with the first words
+                started = true;
+                responseArea.setText("");
+                statusLabel.setText("✍️ Receiving response...");
+            }
+            responseArea.append(text);
+        }
     }
     
     private JButton createStyledButton(String text) {
@@ -329,13 +395,17 @@ public class AiPanel extends JPanel implements Refreshable {
      * Get API key from config for display purposes
      */
     private String getApiKeyFromConfig() {
+        return getConfigValue("gemini_api_key");
+    }
+    
+    private String getConfigValue(String key) {
         try {
             java.util.Properties props = new java.util.Properties();
             java.io.File configFile = new java.io.File("config.properties");
             if (configFile.exists()) {
                 try (java.io.FileInputStream fis = new java.io.FileInputStream(configFile)) {
                     props.load(fis);
-                    return props.getProperty("gemini_api_key", "");
+                    return props.getProperty(key, "");
                 }
             }
         } catch (Exception e) {
@@ -4,18 +4,23 @@ import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import database.TransactionDAO;
-import database.CategoryDAO;
+import database.CategoryRegistry;
 import database.CategoryBudgetDAO;
+import database.RollupDAO;
 import models.BudgetCategory;
-import models.Transaction;
+import models.Category;
+import models.Money;
+import models.TransactionTotals;
 import backend.BudgetLogic;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class BudgetPanel extends JPanel implements Refreshable {
     private TransactionDAO transactionDAO;
-    private CategoryDAO categoryDAO;
     private CategoryBudgetDAO categoryBudgetDAO;
+    private RollupDAO rollupDAO;
     private BudgetLogic budgetLogic;
     private Main mainFrame;
     private JTextField incomeField;
@@ -37,8 +42,8 @@ public class BudgetPanel extends JPanel implements Refreshable {
     public BudgetPanel(Main mainFrame) {
         this.mainFrame = mainFrame;
         transactionDAO = new TransactionDAO();
-        categoryDAO = new CategoryDAO();
         categoryBudgetDAO = new CategoryBudgetDAO();
+        rollupDAO = new RollupDAO();
         budgetLogic = new BudgetLogic();
         
         // CRITICAL: Set layout FIRST before any component operations
@@ -340,8 +345,8 @@ public class BudgetPanel extends JPanel implements Refreshable {
     
     private void saveBudget() {
         try {
-            double income = Double.parseDouble(incomeField.getText());
-            double limit = Double.parseDouble(limitField.getText());
+            long income = Money.parseMinor(incomeField.getText());
+            long limit = Money.parseMinor(limitField.getText());
             
             // Validate income
             if (income < 0) {
@@ -379,19 +384,47 @@ public class BudgetPanel extends JPanel implements Refreshable {
         }
     }
     
+    /**
+     * Everything the budget overview shows, gathered off the EDT in one go.
+     */
+    private static class BudgetOverview {
+        long monthlyIncome;   // Minor units
+        long budgetLimit;     // Minor units
+        long totalExpenses;   // Minor units
+        double percentage;
+        double remaining;
+        String status;
+    }
+    
     private void loadBudgetData() {
-        double[] budgetInfo = transactionDAO.getBudgetInfo();
-        double monthlyIncome = budgetInfo[0];
-        double budgetLimit = budgetInfo[1];
-        
-        incomeField.setText(String.format("%.2f", monthlyIncome));
-        limitField.setText(String.format("%.2f", budgetLimit));
+        DataLoader.load(this, "overview", this::queryBudgetOverview, this::applyBudgetOverview);
+    }
+    
+    private BudgetOverview queryBudgetOverview() {
+        BudgetOverview overview = new BudgetOverview();
+        long[] budgetInfo = transactionDAO.getBudgetInfo();
+        overview.monthlyIncome = budgetInfo[0];
+        overview.budgetLimit = budgetInfo[1];
         
         // Get expense data
-        double totalExpenses = transactionDAO.getTotalExpenses();
+        TransactionTotals totals = transactionDAO.getTotals("All Time");
+        overview.totalExpenses = totals.getExpensesMinor();
         
         // Calculate percentage
-        double percentage = budgetLogic.calculateBudgetUsagePercentage();
+        overview.percentage = budgetLogic.calculateBudgetUsagePercentage(totals);
+        overview.status = budgetLogic.getBudgetStatusForPercentage(overview.percentage);
+        overview.remaining = budgetLogic.getRemainingBudget(totals);
+        return overview;
+    }
+    
+    private void applyBudgetOverview(BudgetOverview overview) {
+        long monthlyIncome = overview.monthlyIncome;
+        long budgetLimit = overview.budgetLimit;
+        long totalExpenses = overview.totalExpenses;
+        double percentage = overview.percentage;
+        
+        incomeField.setText(Money.toPlainString(monthlyIncome));
+        limitField.setText(Money.toPlainString(budgetLimit));
         
         // Cap progress bar at 100 for display (but allow values > 100%)
         int displayPercentage = Math.min(100, (int) percentage);
@@ -410,10 +443,11 @@ public class BudgetPanel extends JPanel implements Refreshable {
         }
         
         // Update status label with more details
-        String status = budgetLogic.getBudgetStatus();
-        double remaining = budgetLogic.getRemainingBudget();
-        String detailedStatus = String.format("%s | Spent: $%.2f | Limit: $%.2f", 
-            status, totalExpenses, (budgetLimit > 0 ? budgetLimit : monthlyIncome));
+        String status = overview.status;
+        double remaining = overview.remaining;
+        String detailedStatus = String.format("%s | Spent: $%s | Limit: $%s", 
+            status, Money.toPlainString(totalExpenses),
+            Money.toPlainString(budgetLimit > 0 ? budgetLimit : monthlyIncome));
         statusLabel.setText(detailedStatus);
         
         // Update remaining budget label
@@ -436,63 +470,62 @@ public class BudgetPanel extends JPanel implements Refreshable {
         String selectedMonth = (String) monthComboBox.getSelectedItem();
         if (selectedMonth == null) selectedMonth = CategoryBudgetDAO.getCurrentMonth();
         
-        // Make final for lambda expression
-        final String finalSelectedMonth = selectedMonth;
-        
-        // Get all categories
-        List<String> expenseCategories = categoryDAO.getCategoriesByType("Expense");
+        final String month = selectedMonth;
+        DataLoader.load(this, "categoryBudgets", () -> queryCategoryBudgetRows(month), rows -> {
+            // Clear the table
+            categoryBudgetTableModel.setRowCount(0);
+            for (Object[] row : rows) {
+                categoryBudgetTableModel.addRow(row);
+            }
+        });
+    }
+    
+    private List<Object[]> queryCategoryBudgetRows(String selectedMonth) {
+        List<Object[]> rows = new ArrayList<>();
         
-        // Clear the table
-        categoryBudgetTableModel.setRowCount(0);
+        // Expense categories with their ids, from the in-memory registry
+        List<Category> expenseCategories = CategoryRegistry.getInstance().getByType("Expense");
         
         // Get budget map for the month
-        Map<Integer, Double> budgetMap = categoryBudgetDAO.getBudgetMapByMonth(selectedMonth);
+        Map<Integer, Long> budgetMap = categoryBudgetDAO.getBudgetMapByMonth(selectedMonth);
         
-        // Get all transactions and filter by month and type
-        List<Transaction> allTransactions = transactionDAO.getAllTransactions();
+        // Spent per category for the month, from the rollup
+        Map<String, Long> spentByCategory = rollupDAO.getTotalsByCategory("Expense", selectedMonth);
         
         // Populate table with each category
-        for (String categoryName : expenseCategories) {
-            int categoryId = categoryDAO.getCategoryId(categoryName);
-            double budgetLimit = budgetMap.getOrDefault(categoryId, 0.0);
-            
-            // Calculate spent for this category in the selected month
-            double spent = allTransactions.stream()
-                .filter(t -> "Expense".equals(t.getType()))
-                .filter(t -> categoryName.equals(t.getCategory()))
-                .filter(t -> isInSelectedMonth(t.getDate(), finalSelectedMonth))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        for (Category category : expenseCategories) {
+            String categoryName = category.getName();
+            long budgetLimit = budgetMap.getOrDefault(category.getId(), 0L);
+            long spent = spentByCategory.getOrDefault(categoryName, 0L);
             
-            double remaining = budgetLimit - spent;
-            double usagePercent = (budgetLimit > 0) ? (spent / budgetLimit) * 100 : 0;
+            long remaining = budgetLimit - spent;
+            double usagePercent = Money.percent(spent, budgetLimit);
             Object[] row = {
                 categoryName,
-                String.format("$%.2f", budgetLimit),
-                String.format("$%.2f", spent),
-                String.format("$%.2f", remaining),
+                "$" + Money.toPlainString(budgetLimit),
+                "$" + Money.toPlainString(spent),
+                "$" + Money.toPlainString(remaining),
                 String.format("%.1f%%", usagePercent)
             };
-            categoryBudgetTableModel.addRow(row);
+            rows.add(row);
         }
-    }
-    
-    private boolean isInSelectedMonth(String transactionDate, String selectedMonth) {
-        // transactionDate format: "YYYY-MM-DD"
-        // selectedMonth format: "YYYY-MM" (e.g., "2025-01")
-        if (transactionDate == null || selectedMonth == null) return false;
-        return transactionDate.startsWith(selectedMonth);
+        return rows;
     }
     
     private void saveCategoryBudgets() {
         try {
+            String selectedMonth = (String) monthComboBox.getSelectedItem();
+            if (selectedMonth == null) selectedMonth = CategoryBudgetDAO.getCurrentMonth();
+            
+            // Validate every row first; the month is then saved in one commit
+            Map<Integer, Long> limits = new LinkedHashMap<>();
             int rowCount = categoryBudgetTable.getRowCount();
             for (int row = 0; row < rowCount; row++) {
                 String categoryName = (String) categoryBudgetTableModel.getValueAt(row, 0);
                 String budgetLimitStr = ((String) categoryBudgetTableModel.getValueAt(row, 1)).replaceAll("[^\\d.]", "");
                 
                 if (budgetLimitStr.isEmpty()) budgetLimitStr = "0";
-                double budgetLimit = Double.parseDouble(budgetLimitStr);
+                long budgetLimit = Money.parseMinor(budgetLimitStr);
                 
                 if (budgetLimit < 0) {
                     JOptionPane.showMessageDialog(this, "Budget limits cannot be negative.", 
@@ -500,11 +533,16 @@ public class BudgetPanel extends JPanel implements Refreshable {
                     return;
                 }
                 
-                int categoryId = categoryDAO.getCategoryId(categoryName);
-                String selectedMonth = (String) monthComboBox.getSelectedItem();
-                if (selectedMonth == null) selectedMonth = CategoryBudgetDAO.getCurrentMonth();
-                
-                categoryBudgetDAO.setBudget(categoryId, selectedMonth, budgetLimit);
+                int categoryId = CategoryRegistry.getInstance().getId(categoryName);
+                if (categoryId != -1) {
+                    limits.put(categoryId, budgetLimit);
+                }
+            }
+            
+            if (!categoryBudgetDAO.setBudgets(selectedMonth, limits)) {
+                JOptionPane.showMessageDialog(this, "Failed to save category budgets.", 
+                    "Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
             
             JOptionPane.showMessageDialog(this, "Category budgets saved successfully!", 
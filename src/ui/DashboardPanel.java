@@ -1,7 +1,6 @@
 package ui;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -9,8 +8,8 @@ import database.TransactionDAO;
 import events.TransactionListener;
 import events.TransactionEventManager;
 import models.Transaction;
+import models.TransactionTotals;
 import backend.BudgetLogic;
-import java.util.List;
 
 public class DashboardPanel extends JPanel implements TransactionListener, Refreshable {
     private TransactionDAO transactionDAO;
@@ -19,7 +18,7 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
     private JLabel incomeLabel;
     private JLabel expenseLabel;
     private JLabel healthLabel;
-    private DefaultTableModel tableModel;
+    private TransactionTableModel tableModel;
     private JComboBox<String> durationFilterCombo;
     private JLabel transactionsTitleLabel;
     private Main mainFrame;
@@ -188,13 +187,9 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
         panel.add(transactionsTitleLabel, BorderLayout.NORTH);
         
         // Create table
-        String[] columnNames = {"Date", "Type", "Category", "Amount", "Notes"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new TransactionTableModel(
+            TransactionTableModel.Column.DATE, TransactionTableModel.Column.TYPE, TransactionTableModel.Column.CATEGORY,
+            TransactionTableModel.Column.AMOUNT, TransactionTableModel.Column.NOTES);
         
         JTable table = new JTable(tableModel);
         table.setBackground(PANEL_COLOR);
@@ -211,7 +206,9 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
         table.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
         
         // WHY: Apply row striping for better readability
-        table.setDefaultRenderer(Object.class, new StripedRowRenderer());
+        StripedRowRenderer renderer = new StripedRowRenderer();
+        table.setDefaultRenderer(Object.class, renderer);
+        table.setDefaultRenderer(Double.class, renderer);
         
         // Set column widths
         table.getColumnModel().getColumn(0).setPreferredWidth(80);
@@ -255,11 +252,24 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
     }
     
     private void loadData() {
-        // Update summary cards
-        double balance = transactionDAO.getBalance();
-        double income = transactionDAO.getTotalIncome();
-        double expenses = transactionDAO.getTotalExpenses();
-        String health = budgetLogic.getFinancialHealth();
+        loadSummary();
+        
+        // Load transactions table
+        loadTransactionsTable();
+    }
+    
+    private void loadSummary() {
+        // Query off the EDT, then update summary cards
+        DataLoader.load(this, "summary",
+            () -> transactionDAO.getTotals("All Time"),
+            this::applySummary);
+    }
+    
+    private void applySummary(TransactionTotals totals) {
+        double balance = totals.getBalance();
+        double income = totals.getIncome();
+        double expenses = totals.getExpenses();
+        String health = budgetLogic.getFinancialHealth(totals);
         
         balanceLabel.setText(String.format("$%.2f", balance));
         incomeLabel.setText(String.format("$%.2f", income));
@@ -272,45 +282,45 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
         } else {
             balanceLabel.setForeground(new Color(220, 53, 69));
         }
-        
-        // Load transactions table
-        loadTransactionsTable();
     }
     
     private void loadTransactionsTable() {
         String selectedDuration = (String) durationFilterCombo.getSelectedItem();
-        List<Transaction> transactions = transactionDAO.getTransactionsByDuration(selectedDuration);
-        tableModel.setRowCount(0);
-        
-        for (Transaction transaction : transactions) {
-            Object[] row = {
-                transaction.getDate(),
-                transaction.getType(),
-                transaction.getCategory(),
-                String.format("$%.2f", transaction.getAmount()),
-                transaction.getNotes()
-            };
-            tableModel.addRow(row);
+        
+        // Pages load as they are scrolled into view, so "All Time" costs the same as one month
+        String[] range = TransactionDAO.durationRange(selectedDuration);
+        if (range == null) {
+            tableModel.setQuery(null, null, null);
+        } else {
+            tableModel.setQuery(range[0], range[1], null);
         }
     }
     
+    /**
+     * Refresh the summary cards and apply a single-row change to the table.
+     */
+    private void applyDelta(Runnable change) {
+        loadSummary();
+        change.run();
+    }
+    
     // Implementation of TransactionListener interface
     @Override
     public void onTransactionAdded(Transaction transaction) {
-        // Refresh dashboard when a transaction is added
-        SwingUtilities.invokeLater(this::loadData);
+        // Insert just the new row (if it falls in the selected duration)
+        SwingUtilities.invokeLater(() -> applyDelta(() -> tableModel.addTransaction(transaction)));
     }
     
     @Override
     public void onTransactionDeleted(int transactionId) {
-        // Refresh dashboard when a transaction is deleted
-        SwingUtilities.invokeLater(this::loadData);
+        // Remove just the deleted row
+        SwingUtilities.invokeLater(() -> applyDelta(() -> tableModel.removeTransaction(transactionId)));
     }
     
     @Override
     public void onTransactionUpdated(Transaction transaction) {
-        // Refresh dashboard when a transaction is updated
-        SwingUtilities.invokeLater(this::loadData);
+        // Move the edited row, or drop it if it left the selected duration
+        SwingUtilities.invokeLater(() -> applyDelta(() -> tableModel.updateTransaction(transaction)));
     }
     
     @Override
@@ -332,6 +342,10 @@ public class DashboardPanel extends JPanel implements TransactionListener, Refre
         @Override
         public java.awt.Component getTableCellRendererComponent(JTable table, Object value,
                 boolean isSelected, boolean hasFocus, int row, int column) {
+            // Amounts are formatted here, only for rows being painted
+            if (value instanceof Double) {
+                value = String.format("$%.2f", (Double) value);
+            }
             java.awt.Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             
             if (!isSelected) {
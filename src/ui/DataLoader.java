@@ -0,0 +1,116 @@
+package ui;
+
+import javax.swing.SwingUtilities;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs panel data queries off the Event Dispatch Thread and applies the results on it.
+ * WHY: Database reads never freeze the window, and refreshing a panel again before its
+ * previous load finishes supersedes that load instead of queueing another full reload.
+ *
+ * Usage: DataLoader.load(this, "table", () -> dao.query(), rows -> fillTable(rows));
+ * The query runs on a background thread and must not touch Swing components;
+ * the apply step always runs on the EDT.
+ */
+public final class DataLoader {
+    // Matches the reader connections in the pool, so loads never queue for a connection
+    private static final int LOADER_THREADS = 4;
+    
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(
+        LOADER_THREADS, LOADER_THREADS, 30L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        runnable -> {
+            Thread thread = new Thread(runnable, "pfa-data-loader-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    
+    static {
+        ((ThreadPoolExecutor) EXECUTOR).allowCoreThreadTimeOut(true);
+    }
+    
+    // Weak keys: a closed panel's load state goes away with the panel
+    private static final Map<Object, Map<String, Slot>> SLOTS = Collections.synchronizedMap(new WeakHashMap<>());
+    
+    /** Latest generation and queued task of one named load of one owner. */
+    private static final class Slot {
+        final AtomicLong generation = new AtomicLong();
+        final AtomicReference<Future<?>> pending = new AtomicReference<>();
+    }
+    
+    private DataLoader() {
+    }
+    
+    /**
+     * Run query in the background, then hand its result to apply on the EDT.
+     * A later call with the same owner and name cancels this one if it has not started,
+     * and discards its result if it has.
+     *
+     * @param owner Panel that owns the load; held weakly, and compared by equals (identity for components)
+     * @param name Which of the owner's loads this is, e.g. "summary" or "table"
+     */
+    public static <T> void load(Object owner, String name, Supplier<T> query, Consumer<T> apply) {
+        String key = owner.getClass().getName() + "#" + name;
+        Slot slot = SLOTS.computeIfAbsent(owner, o -> new ConcurrentHashMap<>()).computeIfAbsent(name, n -> new Slot());
+        AtomicLong generation = slot.generation;
+        long myGeneration = generation.incrementAndGet();
+        
+        Future<?> task = EXECUTOR.submit(() -> {
+            if (generation.get() != myGeneration) {
+                return; // Superseded while queued
+            }
+            T result;
+            try {
+                result = query.get();
+            } catch (RuntimeException e) {
+                System.err.println("Error loading data for " + key + ": " + e.getMessage());
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                // Only the newest load may touch the UI
+                if (generation.get() == myGeneration) {
+                    slot.pending.set(null);
+                    apply.accept(result);
+                }
+            });
+        });
+        
+        Future<?> previous = slot.pending.getAndSet(task);
+        if (previous != null) {
+            // Not interrupting: a JDBC call mid-flight finishes, its result is simply discarded
+            previous.cancel(false);
+        }
+    }
+    
+    /**
+     * Run query in the background and hand its result to apply on the EDT, with no
+     * supersession: use when several loads of one owner may be in flight, e.g. table pages.
+     * @return The task, which the caller may cancel(false) if the result is no longer wanted
+     */
+    public static <T> Future<?> run(Supplier<T> query, Consumer<T> apply) {
+        return EXECUTOR.submit(() -> {
+            T result;
+            try {
+                result = query.get();
+            } catch (RuntimeException e) {
+                System.err.println("Error loading data: " + e.getMessage());
+                return;
+            }
+            SwingUtilities.invokeLater(() -> apply.accept(result));
+        });
+    }
+}
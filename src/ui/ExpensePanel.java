@@ -2,7 +2,6 @@ package ui;
 
 import backend.SettingsManager;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -11,13 +10,14 @@ import database.TransactionDAO;
 import database.CategoryDAO;
 import events.TransactionListener;
 import events.TransactionEventManager;
+import models.Money;
 import models.Transaction;
 import java.util.List;
 
 public class ExpensePanel extends JPanel implements TransactionListener, Refreshable {
     private TransactionDAO transactionDAO;
     private CategoryDAO categoryDAO;
-    private DefaultTableModel tableModel;
+    private TransactionTableModel tableModel;
     private JTable transactionTable;
     private JComboBox<String> typeComboBox;
     private JComboBox<String> categoryComboBox;
@@ -218,19 +218,9 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
         tablePanel.add(titlePanel, BorderLayout.NORTH);
         
         // Create table
-        String[] columnNames = {"ID", "Date", "Type", "Category", "Amount", "Notes"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-            
-            @Override
-            public Class<?> getColumnClass(int column) {
-                if (column == 0) return Integer.class;
-                return String.class;
-            }
-        };
+        tableModel = new TransactionTableModel(
+            TransactionTableModel.Column.ID, TransactionTableModel.Column.DATE, TransactionTableModel.Column.TYPE,
+            TransactionTableModel.Column.CATEGORY, TransactionTableModel.Column.AMOUNT, TransactionTableModel.Column.NOTES);
         
         transactionTable = new JTable(tableModel);
         transactionTable.setBackground(PANEL_COLOR);
@@ -249,7 +239,9 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
         transactionTable.setCursor(new java.awt.Cursor(java.awt.Cursor.HAND_CURSOR));
         
         // WHY: Apply row striping and custom renderers for better readability
-        transactionTable.setDefaultRenderer(Object.class, new StripedRowRenderer());
+        StripedRowRenderer renderer = new StripedRowRenderer();
+        transactionTable.setDefaultRenderer(Object.class, renderer);
+        transactionTable.setDefaultRenderer(Double.class, renderer);
         
         // Hide ID column
         transactionTable.getColumnModel().getColumn(0).setMinWidth(0);
@@ -347,8 +339,8 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
     private void addTransaction(ActionEvent e) {
         try {
             // Validate amount
-            double amount = Double.parseDouble(amountField.getText());
-            if (amount <= 0) {
+            Money amount = Money.parse(amountField.getText());
+            if (amount.getMinorUnits() <= 0) {
                 JOptionPane.showMessageDialog(this, "Amount must be greater than 0",
                     "Invalid Amount", JOptionPane.WARNING_MESSAGE);
                 return;
@@ -379,7 +371,7 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
                 JOptionPane.showMessageDialog(this, "Transaction added successfully!", 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
                 clearForm();
-                loadTransactions();
+                // The table picks up the new row from the transaction event
             } else {
                 JOptionPane.showMessageDialog(this, "Failed to add transaction.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -402,7 +394,11 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
             return;
         }
         
-        int id = (Integer) tableModel.getValueAt(selectedRow, 0);
+        Transaction selected = tableModel.getTransactionAt(selectedRow);
+        if (selected == null) {
+            return; // Row still loading
+        }
+        int id = selected.getId();
         
         int confirm = JOptionPane.showConfirmDialog(this, 
             "Are you sure you want to delete this transaction?", 
@@ -412,7 +408,7 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
             if (transactionDAO.deleteTransaction(id)) {
                 JOptionPane.showMessageDialog(this, "Transaction deleted successfully!", 
                     "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadTransactions();
+                // The row is removed by the transaction event
             } else {
                 JOptionPane.showMessageDialog(this, "Failed to delete transaction.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -429,39 +425,27 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
     }
     
     private void loadTransactions() {
-        List<Transaction> transactions = transactionDAO.getAllManualTransactions();
-        tableModel.setRowCount(0);
-        
-        for (Transaction transaction : transactions) {
-            Object[] row = {
-                transaction.getId(),
-                transaction.getDate(),
-                transaction.getType(),
-                transaction.getCategory(),
-                String.format("%s%.2f", SettingsManager.getCurrencySymbol(), transaction.getAmount()),
-                transaction.getNotes()
-            };
-            tableModel.addRow(row);
-        }
+        // Only manual entries are listed here; pages load as they are scrolled into view
+        tableModel.setQuery(null, null, "manual");
     }
     
     // Implementation of TransactionListener interface
     @Override
     public void onTransactionAdded(Transaction transaction) {
-        // Refresh the table to show the new transaction
-        SwingUtilities.invokeLater(this::loadTransactions);
+        // Insert just the new row
+        SwingUtilities.invokeLater(() -> tableModel.addTransaction(transaction));
     }
     
     @Override
     public void onTransactionDeleted(int transactionId) {
-        // Refresh the table to reflect deletion
-        SwingUtilities.invokeLater(this::loadTransactions);
+        // Remove just the deleted row
+        SwingUtilities.invokeLater(() -> tableModel.removeTransaction(transactionId));
     }
     
     @Override
     public void onTransactionUpdated(Transaction transaction) {
-        // Refresh the table to reflect update
-        SwingUtilities.invokeLater(this::loadTransactions);
+        // Move the edited row to its new position
+        SwingUtilities.invokeLater(() -> tableModel.updateTransaction(transaction));
     }
     
     @Override
@@ -483,6 +467,10 @@ public class ExpensePanel extends JPanel implements TransactionListener, Refresh
         @Override
         public java.awt.Component getTableCellRendererComponent(JTable table, Object value,
                 boolean isSelected, boolean hasFocus, int row, int column) {
+            // Amounts are formatted here, only for rows being painted
+            if (value instanceof Double) {
+                value = String.format("%s%.2f", SettingsManager.getCurrencySymbol(), (Double) value);
+            }
             java.awt.Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
             
             if (!isSelected) {
@@ -465,8 +465,11 @@ public class InvestmentPanel extends JPanel implements TransactionListener, Refr
     }
     
     private void reloadTableData() {
+        DataLoader.load(this, "investments", investmentDAO::getAllInvestments, this::applyTableData);
+    }
+    
+    private void applyTableData(List<Investment> investments) {
         tableModel.setRowCount(0);
-        List<Investment> investments = investmentDAO.getAllInvestments();
         
         for (Investment inv : investments) {
             Object[] row = {
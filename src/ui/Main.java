@@ -1,6 +1,7 @@
 package ui;
 
 import backend.SettingsManager;
+import database.DBConnection;
 import javax.swing.*;
 import javax.swing.border.LineBorder;
 import java.awt.*;
@@ -252,6 +253,9 @@ public class Main extends JFrame {
         // Load settings BEFORE initializing UI
         SettingsManager.loadSettings();
         
+        // Close pooled connections on exit so the WAL is checkpointed into finance.db
+        Runtime.getRuntime().addShutdownHook(new Thread(DBConnection::closeConnection));
+        
         SwingUtilities.invokeLater(() -> {
             try {
                 new Main().setVisible(true);
@@ -10,13 +10,20 @@ import java.time.YearMonth;
 import java.util.*;
 import database.TransactionDAO;
 import database.CategoryDAO;
-import models.Transaction;
+import database.RollupDAO;
+import models.Money;
+import models.TransactionTotals;
+import service.TimeSeriesService;
 
 public class ReportsPanel extends JPanel {
     private TransactionDAO transactionDAO;
     private CategoryDAO categoryDAO;
+    private RollupDAO rollupDAO;
+    private TimeSeriesService timeSeriesService;
     private JTabbedPane tabbedPane;
     
+    private static final int TREND_MONTHS = 60;
+    
     // Theme colors
     private static final Color BACKGROUND_COLOR = new Color(30, 30, 30);
     private static final Color PANEL_COLOR = new Color(42, 42, 42);
@@ -27,6 +34,8 @@ public class ReportsPanel extends JPanel {
     public ReportsPanel() {
         transactionDAO = new TransactionDAO();
         categoryDAO = new CategoryDAO();
+        rollupDAO = new RollupDAO();
+        timeSeriesService = new TimeSeriesService();
         
         setBackground(BACKGROUND_COLOR);
         setLayout(new BorderLayout(10, 10));
@@ -70,6 +79,10 @@ public class ReportsPanel extends JPanel {
         JPanel categorySummaryPanel = createCategorySummaryReport();
         tabbedPane.addTab("Category Summary", categorySummaryPanel);
         
+        // Monthly Trend (Line Chart)
+        JPanel trendPanel = createTrendReport();
+        tabbedPane.addTab("Monthly Trend", trendPanel);
+        
         add(tabbedPane, BorderLayout.CENTER);
     }
     
@@ -101,8 +114,9 @@ public class ReportsPanel extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         Map<String, Double> data = new LinkedHashMap<>();
-        double totalIncome = transactionDAO.getTotalIncome();
-        double totalExpense = transactionDAO.getTotalExpenses();
+        TransactionTotals totals = transactionDAO.getTotals("All Time");
+        double totalIncome = totals.getIncome();
+        double totalExpense = totals.getExpenses();
         
         data.put("Income", totalIncome);
         data.put("Expense", totalExpense);
@@ -122,9 +136,10 @@ public class ReportsPanel extends JPanel {
         JPanel statsPanel = new JPanel(new GridLayout(1, 3, 15, 0));
         statsPanel.setBackground(BACKGROUND_COLOR);
         
-        double totalIncome = transactionDAO.getTotalIncome();
-        double totalExpense = transactionDAO.getTotalExpenses();
-        double balance = totalIncome - totalExpense;
+        TransactionTotals totals = transactionDAO.getTotals("All Time");
+        double totalIncome = totals.getIncome();
+        double totalExpense = totals.getExpenses();
+        double balance = totals.getBalance();
         
         statsPanel.add(createStatCard("Total Income", String.format("$%.2f", totalIncome), new Color(46, 160, 67)));
         statsPanel.add(createStatCard("Total Expenses", String.format("$%.2f", totalExpense), new Color(220, 53, 69)));
@@ -149,6 +164,19 @@ public class ReportsPanel extends JPanel {
         return panel;
     }
     
+    private JPanel createTrendReport() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        
+        // One grouped query over the monthly rollup, however long the history, kept off the EDT
+        TrendChartPanel trendChart = new TrendChartPanel("Income vs Expense, Last 5 Years by Month", null);
+        panel.add(trendChart, BorderLayout.CENTER);
+        DataLoader.load(this, "trend", () -> timeSeriesService.getMonthlyTrend(TREND_MONTHS), trendChart::setSeries);
+        
+        return panel;
+    }
+    
     private JPanel createStatCard(String title, String value, Color accentColor) {
         JPanel card = new JPanel();
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
@@ -176,30 +204,11 @@ public class ReportsPanel extends JPanel {
     }
     
     private Map<String, Double> getExpensesByCategory() {
-        Map<String, Double> expensesByCategory = new java.util.HashMap<>();
-        List<Transaction> allTransactions = transactionDAO.getAllTransactions();
-        
-        for (Transaction t : allTransactions) {
-            if ("Expense".equals(t.getType())) {
-                expensesByCategory.put(
-                    t.getCategory(),
-                    expensesByCategory.getOrDefault(t.getCategory(), 0.0) + t.getAmount()
-                );
-            }
-        }
-        
-        // Sort by expense amount (highest first) and return as LinkedHashMap to maintain order
-        Map<String, Double> sortedExpenses = expensesByCategory.entrySet()
-            .stream()
-            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
-            .collect(java.util.stream.Collectors.toMap(
-                Map.Entry::getKey,
-                Map.Entry::getValue,
-                (e1, e2) -> e1,
-                LinkedHashMap::new
-            ));
-        
-        return sortedExpenses;
+        // Already sorted by expense amount (highest first); charts plot major units
+        Map<String, Double> expenses = new LinkedHashMap<>();
+        rollupDAO.getTotalsByCategory("Expense", null)
+            .forEach((category, minor) -> expenses.put(category, Money.toMajor(minor)));
+        return expenses;
     }
     
     private JButton createStyledButton(String text) {
@@ -239,6 +248,9 @@ public class ReportsPanel extends JPanel {
         JPanel categorySummaryPanel = createCategorySummaryReport();
         tabbedPane.addTab("Category Summary", categorySummaryPanel);
         
+        JPanel trendPanel = createTrendReport();
+        tabbedPane.addTab("Monthly Trend", trendPanel);
+        
         // Refresh the UI
         tabbedPane.revalidate();
         tabbedPane.repaint();
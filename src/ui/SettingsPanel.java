@@ -8,6 +8,7 @@ import java.io.File;
 import database.AppSettingsDAO;
 import events.TransactionEventManager;
 import backend.DataExportImport;
+import backend.ImportResult;
 import service.GeminiService;
 
 public class SettingsPanel extends JPanel {
@@ -465,7 +466,7 @@ public class SettingsPanel extends JPanel {
     
     private void exportData() {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files", "csv"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files (*.csv, *.csv.gz)", "csv", "gz"));
         fileChooser.setSelectedFile(new File(dataExportImport.createBackupFilename()));
         
         int result = fileChooser.showSaveDialog(this);
@@ -484,7 +485,7 @@ public class SettingsPanel extends JPanel {
     
     private void importData() {
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files", "csv"));
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV Files (*.csv, *.csv.gz)", "csv", "gz"));
         
         int result = fileChooser.showOpenDialog(this);
         if (result == JFileChooser.APPROVE_OPTION) {
@@ -496,12 +497,13 @@ public class SettingsPanel extends JPanel {
                 "Confirm Import", JOptionPane.YES_NO_OPTION);
             
             if (confirm == JOptionPane.YES_OPTION) {
-                if (dataExportImport.importFromCSV(file.getAbsolutePath())) {
-                    // Notify all listeners to refresh
-                    TransactionEventManager.getInstance().notifyTransactionsRefreshed();
+                // The importer fires a single refresh event once all rows are in
+                ImportResult importResult = dataExportImport.importFromCSV(file.getAbsolutePath());
+                if (importResult.isSuccess()) {
                     JOptionPane.showMessageDialog(this,
-                        "Data imported successfully from:\n" + file.getAbsolutePath(),
-                        "Import Successful", JOptionPane.INFORMATION_MESSAGE);
+                        "Data imported from:\n" + file.getAbsolutePath() + "\n\n" + importResult.getSummary(5),
+                        "Import Successful",
+                        importResult.getErrorCount() == 0 ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
                 } else {
                     JOptionPane.showMessageDialog(this, "Failed to import data.",
                         "Error", JOptionPane.ERROR_MESSAGE);
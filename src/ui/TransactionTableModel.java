@@ -0,0 +1,385 @@
+package ui;
+
+import database.TransactionDAO;
+import models.Transaction;
+import javax.swing.table.AbstractTableModel;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+
+/**
+ * Table model over transactions, newest first (date, then id, descending), that loads
+ * pages from the database as they are scrolled into view.
+ * WHY: Only the row count and a bounded LRU of recently viewed pages are held, so a
+ * ledger with millions of rows opens immediately and heap use stays flat. Pages are
+ * fetched by keyset on (date, id) in the background; rows not loaded yet render blank.
+ *
+ * An add or delete event patches the one loaded page it falls in and fires only that
+ * row; pages after it have shifted and are fetched again when next painted.
+ *
+ * Must only be used on the EDT, like any Swing model.
+ */
+public class TransactionTableModel extends AbstractTableModel {
+    static final int PAGE_SIZE = 200;
+    // A few screens either side of the viewport
+    private static final int MAX_CACHED_PAGES = 16;
+    
+    public enum Column {
+        ID("ID", Integer.class),
+        DATE("Date", String.class),
+        TYPE("Type", String.class),
+        CATEGORY("Category", String.class),
+        AMOUNT("Amount", Double.class),
+        NOTES("Notes", String.class);
+        
+        private final String title;
+        private final Class<?> type;
+        
+        Column(String title, Class<?> type) {
+            this.title = title;
+            this.type = type;
+        }
+    }
+    
+    /** Newest first; id breaks ties so every transaction has one exact position. */
+    static final Comparator<Transaction> NEWEST_FIRST = Comparator
+        .comparing(Transaction::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(Transaction::getId, Comparator.reverseOrder());
+    
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final Column[] columns;
+    
+    // Current query; null means unbounded
+    private String fromDate;
+    private String toDateExclusive;
+    private String source;
+    
+    private int rowCount = 0;
+    private boolean reloadPending = false;
+    
+    // Loaded pages by index, least recently used first
+    private final Map<Integer, List<Transaction>> pages = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Transaction>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Last row before each page whose start is known (page 0 needs none). Only the
+    // (date, id) key is kept, so this stays small even after scrolling a huge ledger
+    private final TreeMap<Integer, PageStart> pageStarts = new TreeMap<>();
+    // Page fetches in flight, oldest first
+    private final Map<Integer, PageLoad> loading = new LinkedHashMap<>();
+    
+    private static final class PageStart {
+        final String afterDate;
+        final int afterId;
+        
+        PageStart(Transaction lastOfPreviousPage) {
+            this.afterDate = lastOfPreviousPage.getDate();
+            this.afterId = lastOfPreviousPage.getId();
+        }
+        
+        /** True if this key sorts before the transaction, newest first. */
+        boolean precedes(Transaction transaction) {
+            if (transaction.getDate() == null) {
+                return true;
+            }
+            int byDate = afterDate.compareTo(transaction.getDate());
+            return byDate > 0 || (byDate == 0 && afterId > transaction.getId());
+        }
+    }
+    
+    private static final class PageLoad {
+        Future<?> task;
+    }
+    
+    public TransactionTableModel(Column... columns) {
+        this.columns = columns.clone();
+    }
+    
+    /**
+     * Show transactions in [fromDate, toDateExclusive) from one source, and reload.
+     * @param fromDate Inclusive lower bound (YYYY-MM-DD), or null
+     * @param toDateExclusive Exclusive upper bound (YYYY-MM-DD), or null
+     * @param source Exact source such as "manual", or null for all sources
+     */
+    public void setQuery(String fromDate, String toDateExclusive, String source) {
+        this.fromDate = fromDate;
+        this.toDateExclusive = toDateExclusive;
+        this.source = source;
+        reload();
+    }
+    
+    /**
+     * Drop every loaded page and re-count, e.g. after a coalesced refresh event.
+     */
+    public void reload() {
+        cancelLoads(0);
+        pages.clear();
+        pageStarts.clear();
+        reloadPending = true;
+        
+        String from = fromDate;
+        String to = toDateExclusive;
+        String src = source;
+        DataLoader.load(this, "count", () -> transactionDAO.countTransactions(from, to, src), count -> {
+            reloadPending = false;
+            rowCount = Math.max(count, 0);
+            fireTableDataChanged();
+        });
+    }
+    
+    /**
+     * Insert one transaction at its sorted position. Ignored unless it matches the query.
+     */
+    public void addTransaction(Transaction transaction) {
+        if (!matches(transaction)) {
+            return;
+        }
+        if (reloadPending) {
+            // The count in flight may or may not include this row
+            reload();
+            return;
+        }
+        
+        if (replaceLoaded(transaction)) {
+            // Events are asynchronous: a page fetched after the commit already holds the row
+            return;
+        }
+        
+        // The row belongs in the last page whose known start sorts before it
+        int page = 0;
+        for (Map.Entry<Integer, PageStart> start : pageStarts.entrySet()) {
+            if (!start.getValue().precedes(transaction)) {
+                break;
+            }
+            page = start.getKey();
+        }
+        
+        List<Transaction> rows = pages.get(page);
+        if (rows == null) {
+            // Its page is not loaded, so neither its position nor whether the count
+            // (fetched after the commit, perhaps) already includes it is known
+            reload();
+            return;
+        }
+        
+        // Not found by replaceLoaded, so the search never lands on an equal row
+        int position = -Collections.binarySearch(rows, transaction, NEWEST_FIRST) - 1;
+        invalidateAfter(page);
+        rowCount++;
+        rows.add(position, transaction);
+        if (rows.size() > PAGE_SIZE) {
+            // The last row spills over into the next page
+            rows.remove(PAGE_SIZE);
+            pageStarts.put(page + 1, new PageStart(rows.get(PAGE_SIZE - 1)));
+        }
+        int index = page * PAGE_SIZE + position;
+        fireTableRowsInserted(index, index);
+    }
+    
+    /**
+     * Remove the row for a transaction id. If the row is not loaded its position is
+     * unknown (or it is not in this table at all), so the table reloads instead.
+     */
+    public void removeTransaction(int id) {
+        if (reloadPending || !removeLoaded(id)) {
+            reload();
+        }
+    }
+    
+    /**
+     * Re-position an edited transaction.
+     */
+    public void updateTransaction(Transaction transaction) {
+        if (reloadPending || !removeLoaded(transaction.getId())) {
+            reload();
+            return;
+        }
+        addTransaction(transaction);
+    }
+    
+    /**
+     * @return The transaction at a row, or null if its page has not loaded yet
+     */
+    public Transaction getTransactionAt(int row) {
+        int page = row / PAGE_SIZE;
+        List<Transaction> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = row % PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+    
+    /**
+     * Overwrite the loaded row with this transaction's id, if there is one.
+     */
+    private boolean replaceLoaded(Transaction transaction) {
+        for (Map.Entry<Integer, List<Transaction>> entry : pages.entrySet()) {
+            List<Transaction> rows = entry.getValue();
+            for (int position = 0; position < rows.size(); position++) {
+                if (rows.get(position).getId() == transaction.getId()) {
+                    rows.set(position, transaction);
+                    int index = entry.getKey() * PAGE_SIZE + position;
+                    fireTableRowsUpdated(index, index);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    private boolean removeLoaded(int id) {
+        for (Map.Entry<Integer, List<Transaction>> entry : pages.entrySet()) {
+            List<Transaction> rows = entry.getValue();
+            for (int position = 0; position < rows.size(); position++) {
+                if (rows.get(position).getId() != id) {
+                    continue;
+                }
+                int page = entry.getKey();
+                boolean wasFull = rows.size() == PAGE_SIZE;
+                invalidateAfter(page);
+                rows.remove(position);
+                rowCount--;
+                int index = page * PAGE_SIZE + position;
+                fireTableRowsDeleted(index, index);
+                if (wasFull) {
+                    // Pull the first row of the next page up; the rest stays on screen meanwhile
+                    requestPage(page);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private boolean matches(Transaction transaction) {
+        String date = transaction.getDate();
+        return (source == null || source.equals(transaction.getSource()))
+            && (fromDate == null || (date != null && date.compareTo(fromDate) >= 0))
+            && (toDateExclusive == null || (date != null && date.compareTo(toDateExclusive) < 0));
+    }
+    
+    /**
+     * Forget pages after page, whose rows shift when a row is inserted or removed in it.
+     */
+    private void invalidateAfter(int page) {
+        cancelLoads(page);
+        pageStarts.tailMap(page, false).clear();
+        pages.keySet().removeIf(loaded -> loaded > page);
+    }
+    
+    private void cancelLoads(int fromPage) {
+        Iterator<Map.Entry<Integer, PageLoad>> it = loading.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, PageLoad> entry = it.next();
+            if (entry.getKey() >= fromPage) {
+                entry.getValue().task.cancel(false);
+                it.remove();
+            }
+        }
+    }
+    
+    private void requestPage(int page) {
+        if (loading.containsKey(page)) {
+            return;
+        }
+        // Seek from the nearest known page start; OFFSET covers only the gap after it
+        Map.Entry<Integer, PageStart> start = pageStarts.floorEntry(page);
+        int startPage = start == null ? 0 : start.getKey();
+        String afterDate = start == null ? null : start.getValue().afterDate;
+        int afterId = start == null ? 0 : start.getValue().afterId;
+        int skip = (page - startPage) * PAGE_SIZE;
+        
+        String from = fromDate;
+        String to = toDateExclusive;
+        String src = source;
+        PageLoad load = new PageLoad();
+        loading.put(page, load);
+        load.task = DataLoader.run(
+            () -> transactionDAO.getTransactionPage(from, to, src, afterDate, afterId, skip, PAGE_SIZE),
+            rows -> applyPage(page, load, rows));
+        
+        if (loading.size() > MAX_CACHED_PAGES) {
+            // Scrolled past; the oldest request would be evicted on arrival anyway
+            Iterator<PageLoad> oldest = loading.values().iterator();
+            oldest.next().task.cancel(false);
+            oldest.remove();
+        }
+    }
+    
+    private void applyPage(int page, PageLoad load, List<Transaction> rows) {
+        if (loading.get(page) != load) {
+            return; // Cancelled, or superseded by a reload or a row change
+        }
+        loading.remove(page);
+        if (rows == null) {
+            return; // Query failed; retried when the rows are painted again
+        }
+        pages.put(page, rows);
+        if (rows.size() == PAGE_SIZE) {
+            pageStarts.put(page + 1, new PageStart(rows.get(PAGE_SIZE - 1)));
+        }
+        int first = page * PAGE_SIZE;
+        int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+        if (last >= first) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return columns[column].title;
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns[column].type;
+    }
+    
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        Transaction transaction = getTransactionAt(row);
+        if (transaction == null) {
+            return null;
+        }
+        switch (columns[column]) {
+            case ID:
+                return transaction.getId();
+            case DATE:
+                return transaction.getDate();
+            case TYPE:
+                return transaction.getType();
+            case CATEGORY:
+                return transaction.getCategory();
+            case AMOUNT:
+                return transaction.getAmount();
+            case NOTES:
+                return transaction.getNotes();
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ui;
+
+import javax.swing.*;
+import java.awt.*;
+import models.Money;
+import models.TimeSeries;
+
+/**
+ * Line chart of income and expenses per bucket of a TimeSeries.
+ */
+public class TrendChartPanel extends JPanel {
+    private TimeSeries series;
+    private String title;
+    private static final Color INCOME_COLOR = new Color(46, 160, 67);
+    private static final Color EXPENSE_COLOR = new Color(220, 53, 69);
+    private static final Color TEXT_COLOR = Color.WHITE;
+    private static final Color BACKGROUND_COLOR = new Color(42, 42, 42);
+    private static final Color GRID_COLOR = new Color(60, 60, 60);
+    private static final int MIN_LABEL_SPACING = 60;
+    
+    public TrendChartPanel(String title, TimeSeries series) {
+        this.title = title;
+        this.series = series;
+        setBackground(BACKGROUND_COLOR);
+        setBorder(BorderFactory.createLineBorder(GRID_COLOR));
+    }
+    
+    /** Replace the plotted series, e.g. once a background load finishes. */
+    public void setSeries(TimeSeries series) {
+        this.series = series;
+        repaint();
+    }
+    
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        
+        if (series == null || series.size() == 0) {
+            g2d.setColor(TEXT_COLOR);
+            g2d.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            g2d.drawString("No data available", getWidth() / 2 - 60, getHeight() / 2);
+            return;
+        }
+        
+        int padding = 70;
+        int chartWidth = getWidth() - (padding * 2);
+        int chartHeight = getHeight() - (padding * 2) - 20;
+        long[] income = series.getIncome();
+        long[] expenses = series.getExpenses();
+        int count = series.size();
+        
+        // Draw title
+        g2d.setColor(TEXT_COLOR);
+        g2d.setFont(new Font("Segoe UI", Font.BOLD, 16));
+        FontMetrics fm = g2d.getFontMetrics();
+        g2d.drawString(title, (getWidth() - fm.stringWidth(title)) / 2, 25);
+        
+        // Find max value
+        long maxMinor = 1;
+        for (int i = 0; i < count; i++) {
+            maxMinor = Math.max(maxMinor, Math.max(income[i], expenses[i]));
+        }
+        double maxValue = Money.toMajor(maxMinor);
+        
+        // Draw grid lines and Y-axis labels
+        g2d.setFont(new Font("Segoe UI", Font.PLAIN, 10));
+        fm = g2d.getFontMetrics();
+        for (int i = 0; i <= 5; i++) {
+            int y = padding + chartHeight - (chartHeight / 5) * i;
+            g2d.setColor(GRID_COLOR);
+            g2d.drawLine(padding, y, padding + chartWidth, y);
+            g2d.setColor(TEXT_COLOR);
+            String label = String.format("$%.0f", (maxValue / 5) * i);
+            g2d.drawString(label, padding - fm.stringWidth(label) - 10, y + 4);
+        }
+        
+        // Draw axes
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawLine(padding, padding, padding, padding + chartHeight);
+        g2d.drawLine(padding, padding + chartHeight, padding + chartWidth, padding + chartHeight);
+        
+        // X-axis labels, thinned out so they never overlap
+        double step = count > 1 ? (double) chartWidth / (count - 1) : 0;
+        int labelEvery = Math.max(1, (int) Math.ceil(MIN_LABEL_SPACING / Math.max(step, 1)));
+        for (int i = 0; i < count; i += labelEvery) {
+            String label = series.getLabel(i);
+            int x = (int) (padding + i * step);
+            g2d.drawString(label, x - fm.stringWidth(label) / 2, padding + chartHeight + 18);
+        }
+        
+        drawLine(g2d, income, maxMinor, step, padding, chartHeight, INCOME_COLOR);
+        drawLine(g2d, expenses, maxMinor, step, padding, chartHeight, EXPENSE_COLOR);
+        
+        // Legend
+        g2d.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        int legendY = getHeight() - 20;
+        g2d.setColor(INCOME_COLOR);
+        g2d.fillRect(padding, legendY - 10, 12, 12);
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString("Income", padding + 18, legendY);
+        g2d.setColor(EXPENSE_COLOR);
+        g2d.fillRect(padding + 90, legendY - 10, 12, 12);
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString("Expense", padding + 108, legendY);
+    }
+    
+    private void drawLine(Graphics2D g2d, long[] values, long maxMinor, double step,
+                          int padding, int chartHeight, Color color) {
+        int[] xs = new int[values.length];
+        int[] ys = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            xs[i] = (int) (padding + i * step);
+            ys[i] = (int) (padding + chartHeight - (double) values[i] / maxMinor * chartHeight);
+        }
+        g2d.setColor(color);
+        g2d.setStroke(new BasicStroke(2));
+        g2d.drawPolyline(xs, ys, values.length);
+        if (values.length <= 60) {
+            for (int i = 0; i < values.length; i++) {
+                g2d.fillOval(xs[i] - 3, ys[i] - 3, 6, 6);
+            }
+        }
+    }
+}